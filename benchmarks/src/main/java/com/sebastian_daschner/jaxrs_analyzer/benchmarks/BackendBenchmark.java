@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.benchmarks;
+
+import com.sebastian_daschner.jaxrs_analyzer.backend.Backend;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the rendering of the corpus resources with every backend.
+ *
+ * @author Sebastian Daschner
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BackendBenchmark {
+
+    @Param({"swagger", "plaintext", "asciidoc"})
+    public String backendName;
+
+    private Backend backend;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (backendName) {
+            case "swagger":
+                backend = Backend.swagger().build();
+                break;
+            case "plaintext":
+                backend = Backend.plainText().build();
+                break;
+            case "asciidoc":
+                backend = Backend.asciiDoc().build();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown backend " + backendName);
+        }
+    }
+
+    @Benchmark
+    public String render(final Corpus corpus) {
+        return backend.render(corpus.getProject());
+    }
+
+}
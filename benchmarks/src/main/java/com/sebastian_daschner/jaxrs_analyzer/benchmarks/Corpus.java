@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.benchmarks;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.collection.ByteCodeCollector;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.reduction.RelevantInstructionReducer;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.project.classes.ClassAnalyzer;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.results.ResultInterpreter;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.utils.JavaUtils;
+import com.sebastian_daschner.jaxrs_analyzer.generator.ProjectGenerator;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.InvokeInstruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.ProjectMethod;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.Project;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.Resources;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
+import javassist.CtBehavior;
+import javassist.CtClass;
+import javassist.CtMethod;
+import javassist.NotFoundException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A generated JAX-RS project of a given size, together with the input of every analysis stage.
+ * The input of a stage is the output of the previous stage, thus every benchmark only measures its own stage.
+ *
+ * @author Sebastian Daschner
+ */
+@State(Scope.Benchmark)
+public class Corpus {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private Path directory;
+    private AnalysisContext context;
+    private List<CtMethod> methods;
+    private List<List<Instruction>> instructions;
+    private List<List<Instruction>> relevantInstructions;
+    private List<ProjectMethod> projectMethods;
+    private Set<ClassResult> classResults;
+    private Project project;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, NotFoundException {
+        directory = Files.createTempDirectory("jaxrs-analyzer-corpus");
+        final List<String> classNames = new ProjectGenerator(size).generate(directory);
+
+        context = AnalysisContext.create();
+        context.getClassPool().insertClassPath(directory.toString());
+        final CtClass[] classes = context.getClassPool().get(classNames.toArray(new String[classNames.size()]));
+
+        methods = Stream.of(classes).flatMap(c -> Stream.of(c.getDeclaredMethods())).collect(Collectors.toList());
+
+        final ByteCodeCollector collector = new ByteCodeCollector();
+        instructions = context.execute(() -> methods.stream().map(collector::buildInstructions).collect(Collectors.toList()));
+
+        final RelevantInstructionReducer reducer = new RelevantInstructionReducer();
+        relevantInstructions = context.execute(() -> instructions.stream().map(reducer::reduceInstructions).collect(Collectors.toList()));
+        projectMethods = context.execute(() -> findProjectMethods(new HashSet<>(classNames)));
+
+        final ClassAnalyzer classAnalyzer = new ClassAnalyzer();
+        classResults = context.execute(() -> Stream.of(classes).map(classAnalyzer::analyze)
+                .filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new)));
+
+        final Resources resources = context.execute(() -> new ResultInterpreter().interpret(classResults));
+        project = new Project("benchmark", "0.1", resources);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (final Stream<Path> paths = Files.walk(directory)) {
+            for (final Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator)
+                Files.delete(path);
+        }
+    }
+
+    /**
+     * Returns the invoked corpus methods, together with their relevant instructions.
+     *
+     * @param classNames The names of the corpus classes
+     * @return The project methods
+     */
+    private List<ProjectMethod> findProjectMethods(final Set<String> classNames) {
+        final Map<CtBehavior, List<Instruction>> methodInstructions = new IdentityHashMap<>();
+        for (int i = 0; i < methods.size(); i++)
+            methodInstructions.put(methods.get(i), relevantInstructions.get(i));
+
+        final Map<MethodIdentifier, ProjectMethod> projectMethods = new LinkedHashMap<>();
+        relevantInstructions.stream().flatMap(List::stream)
+                .filter(i -> i.getType() == Instruction.InstructionType.INVOKE || i.getType() == Instruction.InstructionType.METHOD_HANDLE)
+                .map(i -> ((InvokeInstruction) i).getIdentifier())
+                .filter(i -> classNames.contains(i.getContainingClass().getCtClass().getName()))
+                .forEach(i -> {
+                    final List<Instruction> instructions = methodInstructions.get(JavaUtils.getMethod(i));
+                    if (instructions != null)
+                        projectMethods.putIfAbsent(i, new ProjectMethod(i, instructions));
+                });
+        return new ArrayList<>(projectMethods.values());
+    }
+
+    /**
+     * Returns the context of the analysis which loads the corpus classes.
+     */
+    AnalysisContext getContext() {
+        return context;
+    }
+
+    /**
+     * Creates a new context which loads the corpus classes and knows the invoked corpus methods, but has no cached results yet.
+     */
+    AnalysisContext createContext() {
+        final AnalysisContext newContext = AnalysisContext.create();
+        try {
+            newContext.getClassPool().insertClassPath(directory.toString());
+        } catch (NotFoundException e) {
+            throw new IllegalStateException("Could not load the corpus classes", e);
+        }
+        projectMethods.forEach(newContext.getMethodPool()::addProjectMethod);
+        return newContext;
+    }
+
+    /**
+     * Returns the methods of all corpus classes.
+     */
+    List<CtMethod> getMethods() {
+        return methods;
+    }
+
+    /**
+     * Returns the instructions of all methods.
+     */
+    List<List<Instruction>> getInstructions() {
+        return instructions;
+    }
+
+    /**
+     * Returns the relevant instructions of all methods.
+     */
+    List<List<Instruction>> getRelevantInstructions() {
+        return relevantInstructions;
+    }
+
+    /**
+     * Returns the results of the analyzed classes.
+     */
+    Set<ClassResult> getClassResults() {
+        return classResults;
+    }
+
+    /**
+     * Returns the project with the interpreted resources.
+     */
+    Project getProject() {
+        return project;
+    }
+
+}
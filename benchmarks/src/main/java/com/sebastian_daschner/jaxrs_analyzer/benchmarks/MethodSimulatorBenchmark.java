@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.benchmarks;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodSimulator;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the simulation of the relevant instructions of all corpus methods.
+ *
+ * @author Sebastian Daschner
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MethodSimulatorBenchmark {
+
+    private final MethodSimulator simulator = new MethodSimulator();
+    private AnalysisContext context;
+
+    /**
+     * Creates a new context for every invocation, otherwise the invoked project methods would be taken from the method summary cache.
+     */
+    @Setup(Level.Invocation)
+    public void createContext(final Corpus corpus) {
+        context = corpus.createContext();
+    }
+
+    @Benchmark
+    public void simulate(final Corpus corpus, final Blackhole blackhole) {
+        context.execute(() -> {
+            for (final List<Instruction> instructions : corpus.getRelevantInstructions())
+                blackhole.consume(simulator.simulate(instructions));
+            return null;
+        });
+    }
+
+}
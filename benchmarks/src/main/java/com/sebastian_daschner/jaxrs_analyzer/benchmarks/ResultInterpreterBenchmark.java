@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.benchmarks;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.results.ResultInterpreter;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.Resources;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the interpretation of the class results of the corpus.
+ *
+ * @author Sebastian Daschner
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ResultInterpreterBenchmark {
+
+    private final ResultInterpreter interpreter = new ResultInterpreter();
+
+    @Benchmark
+    public Resources interpret(final Corpus corpus) {
+        return corpus.getContext().execute(() -> interpreter.interpret(corpus.getClassResults()));
+    }
+
+}
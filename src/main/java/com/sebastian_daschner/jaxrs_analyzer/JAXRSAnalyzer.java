@@ -1,5 +1,6 @@
 package com.sebastian_daschner.jaxrs_analyzer;
 
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.ProjectAnalyzer;
 import com.sebastian_daschner.jaxrs_analyzer.backend.Backend;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.Project;
@@ -27,9 +28,14 @@ public class JAXRSAnalyzer {
     private final String projectVersion;
     private final Path outputLocation;
     private final Backend backend;
+    private final int threads;
+    private final Path cacheDirectory;
+    private final int maximumCallDepth;
+    private final int maximumSimulatedInstructions;
+    private final int maximumPossibleValues;
 
     /**
-     * Constructs a JAX-RS Analyzer.
+     * Constructs a JAX-RS Analyzer which analyzes the classes sequentially.
      *
      * @param projectPaths   The paths of the projects to be analyzed (can either be directories or jar-files, at least one is mandatory)
      * @param classPaths     The additional class paths (can either be directories or jar-files)
@@ -40,6 +46,85 @@ public class JAXRSAnalyzer {
      */
     public JAXRSAnalyzer(final Set<Path> projectPaths, final Set<Path> classPaths, final String projectName, final String projectVersion,
                          final Backend backend, final Path outputLocation) {
+        this(projectPaths, classPaths, projectName, projectVersion, backend, outputLocation, 1);
+    }
+
+    /**
+     * Constructs a JAX-RS Analyzer.
+     *
+     * @param projectPaths   The paths of the projects to be analyzed (can either be directories or jar-files, at least one is mandatory)
+     * @param classPaths     The additional class paths (can either be directories or jar-files)
+     * @param projectName    The project name
+     * @param projectVersion The project version
+     * @param backend        The backend to render the output
+     * @param outputLocation The location of the output file (output will be printed to standard out if {@code null})
+     * @param threads        The number of threads which analyze the project classes in parallel (at least {@code 1})
+     */
+    public JAXRSAnalyzer(final Set<Path> projectPaths, final Set<Path> classPaths, final String projectName, final String projectVersion,
+                         final Backend backend, final Path outputLocation, final int threads) {
+        this(projectPaths, classPaths, projectName, projectVersion, backend, outputLocation, threads, null);
+    }
+
+    /**
+     * Constructs a JAX-RS Analyzer which caches the class results between several analyses.
+     *
+     * @param projectPaths   The paths of the projects to be analyzed (can either be directories or jar-files, at least one is mandatory)
+     * @param classPaths     The additional class paths (can either be directories or jar-files)
+     * @param projectName    The project name
+     * @param projectVersion The project version
+     * @param backend        The backend to render the output
+     * @param outputLocation The location of the output file (output will be printed to standard out if {@code null})
+     * @param threads        The number of threads which analyze the project classes in parallel (at least {@code 1})
+     * @param cacheDirectory The directory of the class result cache (no results will be cached if {@code null})
+     */
+    public JAXRSAnalyzer(final Set<Path> projectPaths, final Set<Path> classPaths, final String projectName, final String projectVersion,
+                         final Backend backend, final Path outputLocation, final int threads, final Path cacheDirectory) {
+        this(projectPaths, classPaths, projectName, projectVersion, backend, outputLocation, threads, cacheDirectory,
+                AnalysisContext.DEFAULT_MAXIMUM_CALL_DEPTH, AnalysisContext.DEFAULT_MAXIMUM_SIMULATED_INSTRUCTIONS);
+    }
+
+    /**
+     * Constructs a JAX-RS Analyzer which bounds the simulation of the methods by the given limits.
+     * Project methods which are invoked beyond the limits are not simulated, thus their return values are unknown.
+     *
+     * @param projectPaths                 The paths of the projects to be analyzed (can either be directories or jar-files, at least one is mandatory)
+     * @param classPaths                   The additional class paths (can either be directories or jar-files)
+     * @param projectName                  The project name
+     * @param projectVersion               The project version
+     * @param backend                      The backend to render the output
+     * @param outputLocation               The location of the output file (output will be printed to standard out if {@code null})
+     * @param threads                      The number of threads which analyze the project classes in parallel (at least {@code 1})
+     * @param cacheDirectory               The directory of the class result cache (no results will be cached if {@code null})
+     * @param maximumCallDepth             The maximum depth of nested project method invocations which are simulated (at least {@code 1})
+     * @param maximumSimulatedInstructions The maximum number of instructions which are simulated for a single method, including the invoked project methods (at least {@code 1})
+     */
+    public JAXRSAnalyzer(final Set<Path> projectPaths, final Set<Path> classPaths, final String projectName, final String projectVersion,
+                         final Backend backend, final Path outputLocation, final int threads, final Path cacheDirectory,
+                         final int maximumCallDepth, final int maximumSimulatedInstructions) {
+        this(projectPaths, classPaths, projectName, projectVersion, backend, outputLocation, threads, cacheDirectory,
+                maximumCallDepth, maximumSimulatedInstructions, AnalysisContext.DEFAULT_MAXIMUM_POSSIBLE_VALUES);
+    }
+
+    /**
+     * Constructs a JAX-RS Analyzer which bounds the simulation of the methods by the given limits.
+     * Project methods which are invoked beyond the limits are not simulated, thus their return values are unknown.
+     * Elements with more possible values than the maximum are widened to their types only.
+     *
+     * @param projectPaths                 The paths of the projects to be analyzed (can either be directories or jar-files, at least one is mandatory)
+     * @param classPaths                   The additional class paths (can either be directories or jar-files)
+     * @param projectName                  The project name
+     * @param projectVersion               The project version
+     * @param backend                      The backend to render the output
+     * @param outputLocation               The location of the output file (output will be printed to standard out if {@code null})
+     * @param threads                      The number of threads which analyze the project classes in parallel (at least {@code 1})
+     * @param cacheDirectory               The directory of the class result cache (no results will be cached if {@code null})
+     * @param maximumCallDepth             The maximum depth of nested project method invocations which are simulated (at least {@code 1})
+     * @param maximumSimulatedInstructions The maximum number of instructions which are simulated for a single method, including the invoked project methods (at least {@code 1})
+     * @param maximumPossibleValues        The maximum number of possible values of a simulated element (at least {@code 1})
+     */
+    public JAXRSAnalyzer(final Set<Path> projectPaths, final Set<Path> classPaths, final String projectName, final String projectVersion,
+                         final Backend backend, final Path outputLocation, final int threads, final Path cacheDirectory,
+                         final int maximumCallDepth, final int maximumSimulatedInstructions, final int maximumPossibleValues) {
         Objects.requireNonNull(projectPaths);
         Objects.requireNonNull(classPaths);
         Objects.requireNonNull(projectName);
@@ -49,19 +134,37 @@ public class JAXRSAnalyzer {
         if (projectPaths.isEmpty())
             throw new IllegalArgumentException("At least one project path is mandatory");
 
+        if (threads < 1)
+            throw new IllegalArgumentException("The number of analysis threads must be positive");
+
+        if (maximumCallDepth < 1)
+            throw new IllegalArgumentException("The maximum call depth must be positive");
+
+        if (maximumSimulatedInstructions < 1)
+            throw new IllegalArgumentException("The maximum number of simulated instructions must be positive");
+
+        if (maximumPossibleValues < 1)
+            throw new IllegalArgumentException("The maximum number of possible values must be positive");
+
         this.projectPaths.addAll(projectPaths);
         this.classPaths.addAll(classPaths);
         this.projectName = projectName;
         this.projectVersion = projectVersion;
         this.outputLocation = outputLocation;
         this.backend = backend;
+        this.threads = threads;
+        this.cacheDirectory = cacheDirectory;
+        this.maximumCallDepth = maximumCallDepth;
+        this.maximumSimulatedInstructions = maximumSimulatedInstructions;
+        this.maximumPossibleValues = maximumPossibleValues;
     }
 
     /**
      * Analyzes the JAX-RS project at the class path and produces the output as configured.
      */
     public void analyze() {
-        final Resources resources = new ProjectAnalyzer(classPaths.toArray(new Path[classPaths.size()])).analyze(projectPaths.toArray(new Path[projectPaths.size()]));
+        // the project analyzer and its class pool are released after the analysis
+        final Resources resources = new ProjectAnalyzer(threads, cacheDirectory, maximumCallDepth, maximumSimulatedInstructions, maximumPossibleValues, classPaths.toArray(new Path[classPaths.size()])).analyze(projectPaths.toArray(new Path[projectPaths.size()]));
         final Project project = new Project(projectName, projectVersion, resources);
 
         if (isEmpty(resources)) {
@@ -15,6 +15,7 @@
  */
 package com.sebastian_daschner.jaxrs_analyzer;
 
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.backend.Backend;
 import com.sebastian_daschner.jaxrs_analyzer.backend.swagger.SwaggerBackendBuilder;
 import com.sebastian_daschner.jaxrs_analyzer.backend.swagger.SwaggerScheme;
@@ -37,6 +38,7 @@ public class Main {
 
     private static final String DEFAULT_NAME = "project";
     private static final String DEFAULT_VERSION = "0.1-SNAPSHOT";
+    private static final int DEFAULT_THREADS = 1;
 
     private static final Set<Path> projectPaths = new HashSet<>();
     private static final Set<Path> classPaths = new HashSet<>();
@@ -48,6 +50,11 @@ public class Main {
     private static Boolean renderSwaggerTags;
     private static Integer swaggerTagsPathOffset;
     private static Path outputFileLocation;
+    private static int threads = DEFAULT_THREADS;
+    private static Path cacheDirectory;
+    private static int maximumCallDepth = AnalysisContext.DEFAULT_MAXIMUM_CALL_DEPTH;
+    private static int maximumSimulatedInstructions = AnalysisContext.DEFAULT_MAXIMUM_SIMULATED_INSTRUCTIONS;
+    private static int maximumPossibleValues = AnalysisContext.DEFAULT_MAXIMUM_POSSIBLE_VALUES;
 
     /**
      * Inspects JAX-RS projects and outputs the gathered information.
@@ -65,6 +72,11 @@ public class Main {
      * <li>{@code -v project version} The version of the project</li>
      * <li>{@code -d project domain} The domain of the project</li>
      * <li>{@code -o output file} The location of the analysis output (will be printed to standard out if omitted)</li>
+     * <li>{@code -t threads} The number of threads which analyze the project classes in parallel ({@code 1} per default)</li>
+     * <li>{@code -c cache directory} The directory where the results of unchanged classes are cached between several analyses (no caching if omitted)</li>
+     * <li>{@code --maxCallDepth depth} The maximum depth of nested project method invocations which are simulated ({@code 50} per default)</li>
+     * <li>{@code --maxInstructions instructions} The maximum number of simulated instructions per resource method, including the invoked project methods ({@code 1000000} per default)</li>
+     * <li>{@code --maxValues values} The maximum number of possible values of a simulated element, elements with more values only keep their types ({@code 100} per default)</li>
      * </ul>
      * <p>
      * Following available backend specific options (only have effect if the corresponding backend is selected):
@@ -92,7 +104,8 @@ public class Main {
 
         final Backend backend = constructBackend();
 
-        final JAXRSAnalyzer jaxrsAnalyzer = new JAXRSAnalyzer(projectPaths, classPaths, name, version, backend, outputFileLocation);
+        final JAXRSAnalyzer jaxrsAnalyzer = new JAXRSAnalyzer(projectPaths, classPaths, name, version, backend, outputFileLocation, threads, cacheDirectory,
+                maximumCallDepth, maximumSimulatedInstructions, maximumPossibleValues);
         jaxrsAnalyzer.analyze();
     }
 
@@ -122,6 +135,21 @@ public class Main {
                         case "-o":
                             outputFileLocation = Paths.get(args[++i]);
                             break;
+                        case "-t":
+                            threads = Integer.valueOf(args[++i]);
+                            break;
+                        case "-c":
+                            cacheDirectory = Paths.get(args[++i].replaceFirst("^~", System.getProperty("user.home")));
+                            break;
+                        case "--maxCallDepth":
+                            maximumCallDepth = Integer.valueOf(args[++i]);
+                            break;
+                        case "--maxInstructions":
+                            maximumSimulatedInstructions = Integer.valueOf(args[++i]);
+                            break;
+                        case "--maxValues":
+                            maximumPossibleValues = Integer.valueOf(args[++i]);
+                            break;
                         case "--swaggerSchemes":
                             swaggerSchemes = extractSwaggerSchemes(args[++i]);
                             break;
@@ -195,6 +223,26 @@ public class Main {
     }
 
     private static void validateArgs() {
+        if (threads < 1) {
+            System.err.println("Please provide positive integer number for option -t\n");
+            printUsageAndExit();
+        }
+
+        if (maximumCallDepth < 1) {
+            System.err.println("Please provide positive integer number for option --maxCallDepth\n");
+            printUsageAndExit();
+        }
+
+        if (maximumSimulatedInstructions < 1) {
+            System.err.println("Please provide positive integer number for option --maxInstructions\n");
+            printUsageAndExit();
+        }
+
+        if (maximumPossibleValues < 1) {
+            System.err.println("Please provide positive integer number for option --maxValues\n");
+            printUsageAndExit();
+        }
+
         if (swaggerTagsPathOffset != null && swaggerTagsPathOffset < 0) {
             System.err.println("Please provide positive integer number for option --swaggerTagsPathOffset\n");
             printUsageAndExit();
@@ -248,6 +296,11 @@ public class Main {
         System.err.println(" -v <project version> The version of the project");
         System.err.println(" -d <project domain> The domain of the project");
         System.err.println(" -o <output file> The location of the analysis output (will be printed to standard out if omitted)");
+        System.err.println(" -t <threads> The number of threads which analyze the project classes in parallel (1 will be used per default)");
+        System.err.println(" -c <cache directory> The directory where the results of unchanged classes are cached between several analyses (no caching if omitted)");
+        System.err.println(" --maxCallDepth <depth> The maximum depth of nested project method invocations which are simulated (50 will be used per default)");
+        System.err.println(" --maxInstructions <instructions> The maximum number of simulated instructions per resource method, including the invoked project methods (1000000 will be used per default)");
+        System.err.println(" --maxValues <values> The maximum number of possible values of a simulated element, elements with more values only keep their types (100 will be used per default)");
         System.err.println("\nFollowing available backend specific options (only have effect if the corresponding backend is selected):\n");
         System.err.println(" --swaggerSchemes <scheme>[,schemes] The Swagger schemes: http (default), https, ws, wss");
         System.err.println(" --renderSwaggerTags Enables rendering of Swagger tags (default tag will be used per default)");
@@ -0,0 +1,274 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.InstructionCache;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodPool;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodSummaryCache;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.StaticFieldCache;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.project.methods.AnnotatedMethodIndex;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.utils.MethodIndex;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.TypeCache;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.TypeHierarchy;
+import javassist.ClassPool;
+
+import java.util.function.Supplier;
+
+/**
+ * The class pool and caches of a single project analysis, bound to the threads of the analysis.
+ * Outside of an analysis the default context is active, which doesn't cache any results. This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class AnalysisContext {
+
+    /**
+     * The default maximum depth of nested project method invocations which are simulated.
+     */
+    public static final int DEFAULT_MAXIMUM_CALL_DEPTH = 50;
+
+    /**
+     * The default maximum number of instructions which are simulated for a single method, including the invoked project methods.
+     */
+    public static final int DEFAULT_MAXIMUM_SIMULATED_INSTRUCTIONS = 1_000_000;
+
+    /**
+     * The default maximum number of possible values of a simulated element.
+     */
+    public static final int DEFAULT_MAXIMUM_POSSIBLE_VALUES = 100;
+
+    private static final AnalysisContext DEFAULT_CONTEXT = new AnalysisContext(ClassPool.getDefault(), DEFAULT_MAXIMUM_CALL_DEPTH,
+            DEFAULT_MAXIMUM_SIMULATED_INSTRUCTIONS, DEFAULT_MAXIMUM_POSSIBLE_VALUES, false);
+    private static final ThreadLocal<AnalysisContext> CURRENT_CONTEXT = new ThreadLocal<>();
+    private static final int INSTRUCTION_CACHE_SIZE = 10_000;
+    private static final int METHOD_SUMMARY_CACHE_SIZE = 10_000;
+
+    /**
+     * Loads the project classes. Classes of the default class pool are shared with the other contexts.
+     */
+    private final ClassPool classPool;
+    private final int maximumCallDepth;
+    private final int maximumSimulatedInstructions;
+    private final int maximumPossibleValues;
+
+    // the caches are null in the default context, which returns a new empty cache on every access instead
+
+    /**
+     * The reduced instructions of the analyzed methods.
+     */
+    private final InstructionCache instructionCache;
+
+    /**
+     * The simulation results of project methods per argument values.
+     */
+    private final MethodSummaryCache methodSummaryCache;
+
+    /**
+     * The canonical types.
+     */
+    private final TypeCache typeCache;
+
+    /**
+     * The supertypes and super declarations of the classes.
+     */
+    private final TypeHierarchy typeHierarchy;
+
+    /**
+     * The methods and constructors of the classes by their signatures.
+     */
+    private final MethodIndex methodIndex;
+
+    /**
+     * The methods of the classes which have JAX-RS annotations.
+     */
+    private final AnnotatedMethodIndex annotatedMethodIndex;
+
+    /**
+     * The values of static fields.
+     */
+    private final StaticFieldCache staticFieldCache;
+
+    /**
+     * The known and project methods, created lazily as the known methods need the class pool of the current context.
+     */
+    private volatile MethodPool methodPool;
+
+    private AnalysisContext(final ClassPool classPool, final int maximumCallDepth, final int maximumSimulatedInstructions, final int maximumPossibleValues,
+                            final boolean caching) {
+        this.classPool = classPool;
+        this.instructionCache = caching ? new InstructionCache(INSTRUCTION_CACHE_SIZE) : null;
+        this.methodSummaryCache = caching ? new MethodSummaryCache(METHOD_SUMMARY_CACHE_SIZE) : null;
+        this.typeCache = caching ? new TypeCache() : null;
+        this.typeHierarchy = caching ? new TypeHierarchy() : null;
+        this.methodIndex = caching ? new MethodIndex() : null;
+        this.annotatedMethodIndex = caching ? new AnnotatedMethodIndex() : null;
+        this.staticFieldCache = caching ? new StaticFieldCache(classPool) : null;
+        this.maximumCallDepth = maximumCallDepth;
+        this.maximumSimulatedInstructions = maximumSimulatedInstructions;
+        this.maximumPossibleValues = maximumPossibleValues;
+    }
+
+    /**
+     * Creates a new context with an own class pool.
+     * Classes which are available in the default class pool (e.g. JDK and Java EE classes) are still taken from the default pool,
+     * thus all contexts share the same instances of these classes.
+     *
+     * @return The new context
+     */
+    public static AnalysisContext create() {
+        return create(DEFAULT_MAXIMUM_CALL_DEPTH, DEFAULT_MAXIMUM_SIMULATED_INSTRUCTIONS);
+    }
+
+    /**
+     * Creates a new context with an own class pool and the given simulation limits.
+     * Project methods which are invoked beyond the limits are not simulated, thus their return values are unknown.
+     *
+     * @param maximumCallDepth             The maximum depth of nested project method invocations which are simulated (at least {@code 1})
+     * @param maximumSimulatedInstructions The maximum number of instructions which are simulated for a single method, including the invoked project methods (at least {@code 1})
+     * @return The new context
+     * @see #create()
+     */
+    public static AnalysisContext create(final int maximumCallDepth, final int maximumSimulatedInstructions) {
+        return create(maximumCallDepth, maximumSimulatedInstructions, DEFAULT_MAXIMUM_POSSIBLE_VALUES);
+    }
+
+    /**
+     * Creates a new context with an own class pool and the given simulation limits.
+     * Project methods which are invoked beyond the limits are not simulated, thus their return values are unknown.
+     * Elements which exceed the maximum number of possible values are widened to their types only.
+     *
+     * @param maximumCallDepth             The maximum depth of nested project method invocations which are simulated (at least {@code 1})
+     * @param maximumSimulatedInstructions The maximum number of instructions which are simulated for a single method, including the invoked project methods (at least {@code 1})
+     * @param maximumPossibleValues        The maximum number of possible values of a simulated element (at least {@code 1})
+     * @return The new context
+     * @see #create()
+     */
+    public static AnalysisContext create(final int maximumCallDepth, final int maximumSimulatedInstructions, final int maximumPossibleValues) {
+        if (maximumCallDepth < 1)
+            throw new IllegalArgumentException("The maximum call depth must be positive");
+
+        if (maximumSimulatedInstructions < 1)
+            throw new IllegalArgumentException("The maximum number of simulated instructions must be positive");
+
+        if (maximumPossibleValues < 1)
+            throw new IllegalArgumentException("The maximum number of possible values must be positive");
+
+        return new AnalysisContext(new ClassPool(ClassPool.getDefault()), maximumCallDepth, maximumSimulatedInstructions, maximumPossibleValues, true);
+    }
+
+    /**
+     * Returns the context which is bound to the current thread or the default context if no analysis is running.
+     *
+     * @return The current context
+     */
+    public static AnalysisContext current() {
+        final AnalysisContext context = CURRENT_CONTEXT.get();
+        return context != null ? context : DEFAULT_CONTEXT;
+    }
+
+    /**
+     * Executes the given action in the context of the running analysis.
+     * If no analysis is running, the action is executed in a new context, which can be garbage collected afterwards.
+     *
+     * @param action The action to execute
+     * @param <T>    The type of the result
+     * @return The result of the action
+     */
+    public static <T> T executeInAnalysis(final Supplier<T> action) {
+        if (CURRENT_CONTEXT.get() != null)
+            return action.get();
+        return create().execute(action);
+    }
+
+    /**
+     * Executes the given action with this context bound to the current thread.
+     * The previously bound context is restored afterwards.
+     *
+     * @param action The action to execute
+     * @param <T>    The type of the result
+     * @return The result of the action
+     */
+    public <T> T execute(final Supplier<T> action) {
+        final AnalysisContext previousContext = CURRENT_CONTEXT.get();
+        CURRENT_CONTEXT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previousContext == null)
+                CURRENT_CONTEXT.remove();
+            else
+                CURRENT_CONTEXT.set(previousContext);
+        }
+    }
+
+    public ClassPool getClassPool() {
+        return classPool;
+    }
+
+    public int getMaximumCallDepth() {
+        return maximumCallDepth;
+    }
+
+    public int getMaximumSimulatedInstructions() {
+        return maximumSimulatedInstructions;
+    }
+
+    public int getMaximumPossibleValues() {
+        return maximumPossibleValues;
+    }
+
+    public TypeCache getTypeCache() {
+        return typeCache != null ? typeCache : new TypeCache();
+    }
+
+    public TypeHierarchy getTypeHierarchy() {
+        return typeHierarchy != null ? typeHierarchy : new TypeHierarchy();
+    }
+
+    public MethodIndex getMethodIndex() {
+        return methodIndex != null ? methodIndex : new MethodIndex();
+    }
+
+    public AnnotatedMethodIndex getAnnotatedMethodIndex() {
+        return annotatedMethodIndex != null ? annotatedMethodIndex : new AnnotatedMethodIndex();
+    }
+
+    public InstructionCache getInstructionCache() {
+        return instructionCache != null ? instructionCache : new InstructionCache(INSTRUCTION_CACHE_SIZE);
+    }
+
+    public MethodSummaryCache getMethodSummaryCache() {
+        return methodSummaryCache != null ? methodSummaryCache : new MethodSummaryCache(METHOD_SUMMARY_CACHE_SIZE);
+    }
+
+    public StaticFieldCache getStaticFieldCache() {
+        return staticFieldCache != null ? staticFieldCache : new StaticFieldCache(classPool);
+    }
+
+    public MethodPool getMethodPool() {
+        MethodPool pool = methodPool;
+        if (pool == null) {
+            synchronized (this) {
+                if (methodPool == null)
+                    methodPool = new MethodPool();
+                pool = methodPool;
+            }
+        }
+        return pool;
+    }
+
+}
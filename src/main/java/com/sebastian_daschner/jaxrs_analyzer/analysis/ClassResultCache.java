@@ -0,0 +1,296 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis;
+
+import com.sebastian_daschner.jaxrs_analyzer.JAXRSAnalyzer;
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.project.classes.ClassFileScanner;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A persistent cache of class results which is stored in a directory between several analyses.
+ * A cached result is only taken if the content of the class file and of all project classes which are transitively referenced
+ * by the class is unchanged and if the result was created by the same analyzer version with the same class paths and simulation limits.
+ * The class paths are compared in their original order, together with the sizes and modification times of their files.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+class ClassResultCache {
+
+    private static final String CACHE_FILE_NAME = "class-results.cache";
+    private static final Fingerprint MISSING_FINGERPRINT = new Fingerprint("", Collections.emptySet());
+
+    private final Path cacheFile;
+    private final String cacheKey;
+    private final ClassFiles classFiles;
+    private final Set<String> projectClassNames;
+    private final Map<String, Entry> storedEntries;
+    private final Map<String, Entry> currentEntries = new ConcurrentHashMap<>();
+    private final Map<String, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+
+    /**
+     * Creates a cache and reads the results which were stored in the cache directory before.
+     * The simulation limits are taken from the current analysis context.
+     *
+     * @param cacheDirectory    The cache directory
+     * @param classPaths        The additional class paths of the analysis
+     * @param classFiles        The access to the class files of the project classes
+     * @param projectClassNames The names of all project classes
+     */
+    ClassResultCache(final Path cacheDirectory, final Collection<Path> classPaths, final ClassFiles classFiles, final Set<String> projectClassNames) {
+        this.cacheFile = cacheDirectory.resolve(CACHE_FILE_NAME);
+        final AnalysisContext context = AnalysisContext.current();
+        // the order of the class paths matters, as it decides which classes are found first
+        this.cacheKey = getAnalyzerVersion() + classPaths.stream().map(ClassResultCache::describeClassPath)
+                .collect(Collectors.joining(File.pathSeparator, "[", "]")) + context.getMaximumCallDepth() + '/' + context.getMaximumSimulatedInstructions() + '/' + context.getMaximumPossibleValues();
+        this.classFiles = classFiles;
+        this.projectClassNames = projectClassNames;
+        this.storedEntries = readEntries();
+    }
+
+    /**
+     * Returns the cached result of the given class if it is still valid.
+     *
+     * @param className The fully-qualified class name
+     * @return The class result or {@code null} if the class has to be analyzed
+     */
+    ClassResult get(final String className) {
+        final Entry entry = storedEntries.get(className);
+        if (entry == null || !entry.dependencies.entrySet().stream().allMatch(e -> getFingerprint(e.getKey()).hash.equals(e.getValue())))
+            return null;
+
+        try (final ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(entry.classResult))) {
+            final ClassResult classResult = (ClassResult) inputStream.readObject();
+            currentEntries.put(className, entry);
+            hits.incrementAndGet();
+            return classResult;
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            LogProvider.debug("Could not read cached result of " + className + ", reason: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Caches the result of the given class, together with the fingerprints of the classes the result depends on.
+     *
+     * @param className   The fully-qualified class name
+     * @param classResult The class result
+     */
+    void put(final String className, final ClassResult classResult) {
+        final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        try (final ObjectOutputStream outputStream = new ObjectOutputStream(byteStream)) {
+            outputStream.writeObject(classResult);
+        } catch (IOException e) {
+            // e.g. results which contain not serializable values
+            LogProvider.debug("Could not cache result of " + className + ", reason: " + e.getMessage());
+            return;
+        }
+
+        final Map<String, String> dependencies = new HashMap<>();
+        findDependencies(className).forEach(d -> dependencies.put(d, getFingerprint(d).hash));
+        currentEntries.put(className, new Entry(dependencies, byteStream.toByteArray()));
+    }
+
+    /**
+     * Writes the results of the current analysis to the cache directory. Results of classes which are not part of the analysis anymore are dropped.
+     */
+    void store() {
+        LogProvider.debug("Took " + hits.get() + " of " + currentEntries.size() + " class results from the cache " + cacheFile);
+
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            final Path temporaryFile = Files.createTempFile(cacheFile.getParent(), CACHE_FILE_NAME, ".tmp");
+            try (final ObjectOutputStream outputStream = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                outputStream.writeUTF(cacheKey);
+                outputStream.writeObject(new HashMap<>(currentEntries));
+            }
+            Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LogProvider.error("Could not write the analysis cache, reason: " + e.getMessage());
+            LogProvider.debug(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Entry> readEntries() {
+        if (!Files.isRegularFile(cacheFile))
+            return Collections.emptyMap();
+
+        try (final ObjectInputStream inputStream = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if (!cacheKey.equals(inputStream.readUTF())) {
+                LogProvider.debug("Ignoring the cache " + cacheFile + " of another analyzer version, class path or simulation limits");
+                return Collections.emptyMap();
+            }
+            return (Map<String, Entry>) inputStream.readObject();
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            LogProvider.debug("Could not read the cache " + cacheFile + ", reason: " + e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Returns the given class and all project classes which are transitively referenced by it.
+     *
+     * @param className The fully-qualified class name
+     * @return The names of the dependencies
+     */
+    private Set<String> findDependencies(final String className) {
+        final Set<String> dependencies = new HashSet<>();
+        final Deque<String> unvisited = new ArrayDeque<>();
+        unvisited.push(className);
+
+        while (!unvisited.isEmpty()) {
+            final String dependency = unvisited.pop();
+            if (dependencies.add(dependency))
+                getFingerprint(dependency).referencedClasses.stream()
+                        .filter(projectClassNames::contains).filter(c -> !dependencies.contains(c)).forEach(unvisited::push);
+        }
+
+        return dependencies;
+    }
+
+    private Fingerprint getFingerprint(final String className) {
+        return fingerprints.computeIfAbsent(className, this::createFingerprint);
+    }
+
+    private Fingerprint createFingerprint(final String className) {
+        try (final InputStream inputStream = classFiles.open(className)) {
+            if (inputStream == null)
+                return MISSING_FINGERPRINT;
+
+            final byte[] classFile = readAll(inputStream);
+            final String hash = Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(classFile));
+            return new Fingerprint(hash, ClassFileScanner.findReferencedClassNames(new ByteArrayInputStream(classFile)));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            LogProvider.debug("Could not read class file of " + className + ", reason: " + e.getMessage());
+            return MISSING_FINGERPRINT;
+        }
+    }
+
+    private static byte[] readAll(final InputStream inputStream) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int length;
+        while ((length = inputStream.read(buffer)) != -1)
+            outputStream.write(buffer, 0, length);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Describes the given class path by its location and the sizes and modification times of its files,
+     * thus a changed jar-file or directory results in another description.
+     *
+     * @param classPath The location of a jar-file or a directory
+     * @return The description
+     */
+    private static String describeClassPath(final Path classPath) {
+        final Path location = classPath.toAbsolutePath();
+        try (final Stream<Path> files = Files.walk(location)) {
+            long count = 0;
+            long size = 0;
+            long lastModified = 0;
+            for (final Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                count++;
+                size += Files.size(file);
+                lastModified = Math.max(lastModified, Files.getLastModifiedTime(file).toMillis());
+            }
+            return location + "@" + count + '/' + size + '/' + lastModified;
+        } catch (IOException | UncheckedIOException e) {
+            LogProvider.debug("Could not read class path " + location + ", reason: " + e.getMessage());
+            // the cached results are never taken
+            return location + "@" + UUID.randomUUID();
+        }
+    }
+
+    /**
+     * Returns the version of this analyzer. Snapshot builds are distinguished by the modification time of the analyzer classes.
+     *
+     * @return The analyzer version
+     */
+    private static String getAnalyzerVersion() {
+        final String version = JAXRSAnalyzer.class.getPackage().getImplementationVersion();
+        try {
+            final Path location = Paths.get(JAXRSAnalyzer.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            return version + '@' + Files.getLastModifiedTime(location).toMillis();
+        } catch (Exception e) {
+            return version + "@unknown";
+        }
+    }
+
+    /**
+     * Provides the content of class files.
+     */
+    @FunctionalInterface
+    interface ClassFiles {
+
+        /**
+         * Opens the class file of the given class.
+         *
+         * @param className The fully-qualified class name
+         * @return The content of the class file or {@code null} if the class does not exist
+         * @throws IOException If the class file could not be read
+         */
+        InputStream open(String className) throws IOException;
+
+    }
+
+    /**
+     * The cached result of a class.
+     */
+    private static class Entry implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, String> dependencies;
+        private final byte[] classResult;
+
+        private Entry(final Map<String, String> dependencies, final byte[] classResult) {
+            this.dependencies = dependencies;
+            this.classResult = classResult;
+        }
+    }
+
+    /**
+     * The content hash and the potentially referenced classes of a class file.
+     */
+    private static class Fingerprint {
+
+        private final String hash;
+        private final Set<String> referencedClasses;
+
+        private Fingerprint(final String hash, final Set<String> referencedClasses) {
+            this.hash = hash;
+            this.referencedClasses = referencedClasses;
+        }
+    }
+
+}
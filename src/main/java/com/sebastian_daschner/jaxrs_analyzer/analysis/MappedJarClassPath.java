@@ -0,0 +1,335 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis;
+
+import javassist.ClassPath;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * A Javassist class path which serves the classes of a jar-file from a memory-mapped file.
+ * The central directory of the jar-file is read once; the entries are read directly from the mapping.
+ * <p>
+ * Closing the class path drops the reference to the mapping, thus no entries can be read afterwards.
+ * The JDK offers no public API to unmap a file, the mapping itself is released once it is garbage collected.
+ * Until then, the jar-file may still be locked on some platforms (e.g. Windows).
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+class MappedJarClassPath implements ClassPath {
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int CENTRAL_DIRECTORY_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+    private static final int ZIP64_MARKER = 0xFFFFFFFF;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    private final Path location;
+    // both are released on close
+    private volatile ByteBuffer mapping;
+    private volatile Map<String, Entry> entries;
+
+    /**
+     * Maps the given jar-file into memory and reads the central directory.
+     *
+     * @param location The location of the jar-file
+     * @throws IOException If the file could not be mapped or is not a supported jar-file (e.g. ZIP64 archives)
+     */
+    MappedJarClassPath(final Path location) throws IOException {
+        this.location = location;
+
+        try (final FileChannel channel = FileChannel.open(location, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException("The jar-file '" + location + "' is too large to be mapped");
+
+            final MappedByteBuffer mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapping = mappedBuffer.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        entries = readCentralDirectory(mapping);
+    }
+
+    /**
+     * Returns the names of all class entries (e.g. a/package/AClass.class).
+     *
+     * @return The class entry names
+     */
+    Set<String> getClassEntryNames() {
+        return Collections.unmodifiableSet(entries.keySet().stream().filter(n -> n.endsWith(".class")).collect(Collectors.toSet()));
+    }
+
+    /**
+     * Opens the content of the given entry.
+     *
+     * @param entryName The entry name (e.g. a/package/AClass.class)
+     * @return The content or {@code null} if the entry does not exist or the class path has been closed
+     * @throws IOException If the entry could not be read
+     */
+    InputStream openEntry(final String entryName) throws IOException {
+        final ByteBuffer mapping = this.mapping;
+        final Entry entry = entries.get(entryName);
+        if (mapping == null || entry == null)
+            return null;
+
+        final ByteBuffer data = readData(mapping, entry);
+
+        switch (entry.method) {
+            case STORED:
+                return new ByteBufferInputStream(data);
+            case DEFLATED:
+                return new ByteArrayInputStream(inflate(data, entry.size));
+            default:
+                throw new IOException("Unsupported compression method of entry " + entryName + " in " + location);
+        }
+    }
+
+    @Override
+    public InputStream openClassfile(final String classname) {
+        try {
+            return openEntry(toEntryName(classname));
+        } catch (IOException e) {
+            // treated as not found
+            return null;
+        }
+    }
+
+    @Override
+    public URL find(final String classname) {
+        final String entryName = toEntryName(classname);
+        if (!entries.containsKey(entryName))
+            return null;
+
+        try {
+            return new URL("jar:" + location.toUri() + "!/" + entryName);
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Drops the references to the mapping and the entries. The file is unmapped once the mapping is garbage collected.
+     */
+    @Override
+    public void close() {
+        mapping = null;
+        entries = Collections.emptyMap();
+    }
+
+    @Override
+    public String toString() {
+        return location.toString();
+    }
+
+    /**
+     * Reads all entries of the central directory.
+     *
+     * @param mapping The mapped jar-file
+     * @return The entries by their names
+     * @throws IOException If the central directory is malformed
+     */
+    private Map<String, Entry> readCentralDirectory(final ByteBuffer mapping) throws IOException {
+        final int endPosition = findEndOfCentralDirectory(mapping);
+        final int entryCount = mapping.getShort(endPosition + 10) & 0xFFFF;
+        final int directoryOffset = mapping.getInt(endPosition + 16);
+
+        if (directoryOffset == ZIP64_MARKER)
+            throw new IOException("ZIP64 jar-files are not supported: " + location);
+
+        final Map<String, Entry> entries = new HashMap<>(entryCount * 4 / 3 + 1);
+        int position = directoryOffset;
+        for (int i = 0; i < entryCount; i++) {
+            if (mapping.getInt(position) != CENTRAL_DIRECTORY_SIGNATURE)
+                throw new IOException("Malformed central directory in " + location);
+
+            final int method = mapping.getShort(position + 10) & 0xFFFF;
+            final int compressedSize = mapping.getInt(position + 20);
+            final int size = mapping.getInt(position + 24);
+            final int nameLength = mapping.getShort(position + 28) & 0xFFFF;
+            final int extraLength = mapping.getShort(position + 30) & 0xFFFF;
+            final int commentLength = mapping.getShort(position + 32) & 0xFFFF;
+            final int localHeaderOffset = mapping.getInt(position + 42);
+
+            if (compressedSize == ZIP64_MARKER || size == ZIP64_MARKER || localHeaderOffset == ZIP64_MARKER)
+                throw new IOException("ZIP64 jar-files are not supported: " + location);
+
+            final String name = readName(mapping, position + CENTRAL_DIRECTORY_HEADER_SIZE, nameLength);
+            entries.put(name, new Entry(method, compressedSize, size, localHeaderOffset));
+
+            position += CENTRAL_DIRECTORY_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+
+        return entries;
+    }
+
+    private int findEndOfCentralDirectory(final ByteBuffer mapping) throws IOException {
+        final int lastPossiblePosition = mapping.capacity() - END_OF_CENTRAL_DIRECTORY_SIZE;
+        final int firstPossiblePosition = Math.max(0, lastPossiblePosition - MAX_COMMENT_LENGTH);
+
+        for (int position = lastPossiblePosition; position >= firstPossiblePosition; position--) {
+            if (mapping.getInt(position) == END_OF_CENTRAL_DIRECTORY_SIGNATURE)
+                return position;
+        }
+
+        throw new IOException("Could not find central directory in " + location);
+    }
+
+    private static String readName(final ByteBuffer mapping, final int position, final int length) {
+        final byte[] name = new byte[length];
+        final ByteBuffer buffer = mapping.duplicate();
+        buffer.position(position);
+        buffer.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a view of the (potentially compressed) data of the entry.
+     *
+     * @param mapping The mapped jar-file
+     * @param entry   The entry
+     * @return The data, backed by the mapping
+     */
+    private ByteBuffer readData(final ByteBuffer mapping, final Entry entry) throws IOException {
+        final int headerPosition = entry.localHeaderOffset;
+        if (mapping.getInt(headerPosition) != LOCAL_HEADER_SIGNATURE)
+            throw new IOException("Malformed local header in " + location);
+
+        final int nameLength = mapping.getShort(headerPosition + 26) & 0xFFFF;
+        final int extraLength = mapping.getShort(headerPosition + 28) & 0xFFFF;
+        final int dataPosition = headerPosition + LOCAL_HEADER_SIZE + nameLength + extraLength;
+
+        final ByteBuffer data = mapping.duplicate();
+        data.position(dataPosition);
+        data.limit(dataPosition + entry.compressedSize);
+        return data.slice();
+    }
+
+    private static byte[] inflate(final ByteBuffer data, final int size) throws IOException {
+        // the raw inflater needs an additional dummy byte at the end of the input
+        final byte[] input = new byte[data.remaining() + 1];
+        data.get(input, 0, input.length - 1);
+
+        final Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(input);
+            final byte[] output = new byte[size];
+            int length = 0;
+            while (length < size && !inflater.finished()) {
+                final int inflated = inflater.inflate(output, length, size - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    break;
+                length += inflated;
+            }
+
+            if (length != size)
+                throw new IOException("Unexpected end of compressed data");
+            return output;
+        } catch (DataFormatException e) {
+            throw new IOException("Malformed compressed data", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static String toEntryName(final String classname) {
+        return classname.replace('.', '/') + ".class";
+    }
+
+    /**
+     * An entry of the central directory.
+     */
+    private static class Entry {
+
+        private final int method;
+        private final int compressedSize;
+        private final int size;
+        private final int localHeaderOffset;
+
+        private Entry(final int method, final int compressedSize, final int size, final int localHeaderOffset) {
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+    }
+
+    /**
+     * An input stream which reads the remaining content of a byte buffer.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            if (length == 0)
+                return 0;
+            if (!buffer.hasRemaining())
+                return -1;
+
+            final int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(final long count) {
+            final int skipped = (int) Math.max(0, Math.min(count, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+}
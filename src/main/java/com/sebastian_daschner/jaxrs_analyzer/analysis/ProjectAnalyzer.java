@@ -18,21 +18,27 @@ package com.sebastian_daschner.jaxrs_analyzer.analysis;
 
 import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.project.classes.ClassAnalyzer;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.project.classes.ClassFileScanner;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.results.ResultInterpreter;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.Resources;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
-import javassist.ClassPool;
+import javassist.ClassPath;
 import javassist.CtClass;
 import javassist.NotFoundException;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Enumeration;
-import java.util.HashSet;
-import java.util.Objects;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.jar.JarEntry;
@@ -42,6 +48,9 @@ import java.util.stream.Stream;
 
 /**
  * Analyzes the JAX-RS project. This class is thread-safe.
+ * Parallel analyses share the Javassist classes of the analysis class pool between the worker threads. Javassist initializes class files and members
+ * lazily without synchronization, thus the project classes are loaded completely before they are analyzed in parallel. Other classes, e.g. of the
+ * libraries, are still loaded lazily by the worker threads.
  *
  * @author Sebastian Daschner
  */
@@ -55,20 +64,89 @@ public class ProjectAnalyzer {
 
     private final Lock lock = new ReentrantLock();
     private final Set<CtClass> classes = new HashSet<>();
-    private final ClassAnalyzer classAnalyzer = new ClassAnalyzer();
+    private final Map<Path, MappedJarClassPath> jarClassPaths = new HashMap<>();
+    private final List<ClassPath> insertedClassPaths = new ArrayList<>();
+    private final Set<String> projectClassNames = new HashSet<>();
+    private final AnalysisContext context;
     private final ResultInterpreter resultInterpreter = new ResultInterpreter();
+    private final int threads;
+    private final Path cacheDirectory;
+    private final List<Path> classPaths;
 
     /**
      * Creates a project analyzer with given class path locations where to search for classes.
+     * The classes are analyzed sequentially.
      *
      * @param classPaths The locations of additional class paths (can be directories or jar-files)
      */
     public ProjectAnalyzer(final Path... classPaths) {
-        Stream.of(classPaths).forEach(this::addToClassPool);
+        this(1, classPaths);
+    }
+
+    /**
+     * Creates a project analyzer with given class path locations where to search for classes.
+     *
+     * @param threads    The number of threads which analyze the classes in parallel (at least {@code 1})
+     * @param classPaths The locations of additional class paths (can be directories or jar-files)
+     */
+    public ProjectAnalyzer(final int threads, final Path... classPaths) {
+        this(threads, null, classPaths);
+    }
+
+    /**
+     * Creates a project analyzer with given class path locations where to search for classes.
+     * The results of unchanged classes are taken from the cache directory, if given.
+     *
+     * @param threads        The number of threads which analyze the classes in parallel (at least {@code 1})
+     * @param cacheDirectory The directory where the class results are cached between several analyses ({@code null} if no results are cached)
+     * @param classPaths     The locations of additional class paths (can be directories or jar-files)
+     */
+    public ProjectAnalyzer(final int threads, final Path cacheDirectory, final Path[] classPaths) {
+        this(threads, cacheDirectory, AnalysisContext.DEFAULT_MAXIMUM_CALL_DEPTH, AnalysisContext.DEFAULT_MAXIMUM_SIMULATED_INSTRUCTIONS, classPaths);
+    }
+
+    /**
+     * Creates a project analyzer with given class path locations where to search for classes.
+     * The simulation of the methods is bounded by the given limits, project methods which are invoked beyond the limits are not simulated.
+     *
+     * @param threads                      The number of threads which analyze the classes in parallel (at least {@code 1})
+     * @param cacheDirectory               The directory where the class results are cached between several analyses ({@code null} if no results are cached)
+     * @param maximumCallDepth             The maximum depth of nested project method invocations which are simulated (at least {@code 1})
+     * @param maximumSimulatedInstructions The maximum number of instructions which are simulated for a single method, including the invoked project methods (at least {@code 1})
+     * @param classPaths                   The locations of additional class paths (can be directories or jar-files)
+     */
+    public ProjectAnalyzer(final int threads, final Path cacheDirectory, final int maximumCallDepth, final int maximumSimulatedInstructions, final Path[] classPaths) {
+        this(threads, cacheDirectory, maximumCallDepth, maximumSimulatedInstructions, AnalysisContext.DEFAULT_MAXIMUM_POSSIBLE_VALUES, classPaths);
+    }
+
+    /**
+     * Creates a project analyzer with given class path locations where to search for classes.
+     * The simulation of the methods is bounded by the given limits, project methods which are invoked beyond the limits are not simulated
+     * and elements with more possible values than the maximum are widened to their types only.
+     *
+     * @param threads                      The number of threads which analyze the classes in parallel (at least {@code 1})
+     * @param cacheDirectory               The directory where the class results are cached between several analyses ({@code null} if no results are cached)
+     * @param maximumCallDepth             The maximum depth of nested project method invocations which are simulated (at least {@code 1})
+     * @param maximumSimulatedInstructions The maximum number of instructions which are simulated for a single method, including the invoked project methods (at least {@code 1})
+     * @param maximumPossibleValues        The maximum number of possible values of a simulated element (at least {@code 1})
+     * @param classPaths                   The locations of additional class paths (can be directories or jar-files)
+     */
+    public ProjectAnalyzer(final int threads, final Path cacheDirectory, final int maximumCallDepth, final int maximumSimulatedInstructions,
+                           final int maximumPossibleValues, final Path[] classPaths) {
+        if (threads < 1)
+            throw new IllegalArgumentException("The number of analysis threads must be positive");
+
+        this.context = AnalysisContext.create(maximumCallDepth, maximumSimulatedInstructions, maximumPossibleValues);
+        this.threads = threads;
+        this.cacheDirectory = cacheDirectory;
+        this.classPaths = Arrays.asList(classPaths);
+        Stream.of(classPaths).forEach(ProjectAnalyzer::checkExists);
     }
 
     /**
      * Analyzes all classes in the given project path.
+     * The classes are loaded into a class pool which belongs to this project analyzer only.
+     * The class paths are removed from the pool and the mapped jar-files are closed after the analysis.
      *
      * @param projectPaths The project paths
      * @return The REST resource representations
@@ -76,35 +154,186 @@ public class ProjectAnalyzer {
     public Resources analyze(final Path... projectPaths) {
         lock.lock();
         try {
-            Stream.of(projectPaths).forEach(this::addProjectPath);
+            return context.execute(() -> analyzeInContext(projectPaths));
+        } finally {
+            releaseClassPaths();
+            lock.unlock();
+        }
+    }
+
+    private Resources analyzeInContext(final Path... projectPaths) {
+        classPaths.forEach(this::addToClassPool);
+        Stream.of(projectPaths).forEach(this::addProjectPath);
+
+        // the classes are processed in a stable order, thus the results are the same for every number of threads
+        final List<CtClass> sortedClasses = classes.stream()
+                .sorted(Comparator.comparing(CtClass::getName)).collect(Collectors.toList());
+
+        final ClassResultCache cache = cacheDirectory == null ? null :
+                new ClassResultCache(cacheDirectory, classPaths, this::openClassFile, projectClassNames);
+
+        // analyze relevant classes
+        final Set<ClassResult> classResults = threads == 1 ? analyzeSequential(sortedClasses, cache) : analyzeParallel(sortedClasses, cache);
 
-            // analyze relevant classes
-            final Set<ClassResult> classResults = classes.stream()
-                    .map(classAnalyzer::analyze)
-                    .filter(Objects::nonNull).collect(Collectors.toSet());
+        if (cache != null)
+            cache.store();
 
-            return resultInterpreter.interpret(classResults);
+        LogProvider.debug("Instruction cache: " + context.getInstructionCache().getHits() + " hits, " + context.getInstructionCache().getMisses() + " misses");
+
+        return resultInterpreter.interpret(classResults);
+    }
+
+    /**
+     * Analyzes the given classes in the current thread.
+     *
+     * @param classes The classes to analyze
+     * @param cache   The result cache or {@code null}
+     * @return The class results in the order of the classes
+     */
+    private static Set<ClassResult> analyzeSequential(final List<CtClass> classes, final ClassResultCache cache) {
+        final ClassAnalyzer classAnalyzer = new ClassAnalyzer();
+        return classes.stream()
+                .map(c -> analyzeClass(classAnalyzer, c, cache))
+                .filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Analyzes the given classes in a thread pool. Every worker thread uses its own class analyzer and the context of this analysis.
+     * The results are merged in the order of the classes, independent of the order in which the analyses finish.
+     *
+     * @param classes The classes to analyze
+     * @param cache   The result cache or {@code null}
+     * @return The class results in the order of the classes
+     */
+    private Set<ClassResult> analyzeParallel(final List<CtClass> classes, final ClassResultCache cache) {
+        classes.forEach(ProjectAnalyzer::loadCompletely);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final ThreadLocal<ClassAnalyzer> classAnalyzers = ThreadLocal.withInitial(ClassAnalyzer::new);
+        try {
+            final List<Future<ClassResult>> futures = classes.stream()
+                    .map(c -> executor.submit(() -> context.execute(() -> analyzeClass(classAnalyzers.get(), c, cache))))
+                    .collect(Collectors.toList());
+
+            final Set<ClassResult> classResults = new LinkedHashSet<>();
+            for (final Future<ClassResult> future : futures) {
+                final ClassResult classResult = awaitResult(future);
+                if (classResult != null)
+                    classResults.add(classResult);
+            }
+            return classResults;
         } finally {
-            lock.unlock();
+            executor.shutdownNow();
         }
     }
 
     /**
-     * Adds the location to the class pool.
+     * Loads the class file and the members of the class and its supertypes, before the class is shared between threads.
+     * The members keep the class file from being released by the class pool.
+     *
+     * @param ctClass The class
+     */
+    private static void loadCompletely(final CtClass ctClass) {
+        ctClass.getClassFile2();
+        ctClass.getDeclaredConstructors();
+        ctClass.getDeclaredMethods();
+        ctClass.getMethods();
+    }
+
+    /**
+     * Analyzes the given class or takes the result from the cache, if possible.
+     *
+     * @param classAnalyzer The class analyzer
+     * @param ctClass       The class to analyze
+     * @param cache         The result cache or {@code null}
+     * @return The class result or {@code null} if the class is not relevant
+     */
+    private static ClassResult analyzeClass(final ClassAnalyzer classAnalyzer, final CtClass ctClass, final ClassResultCache cache) {
+        if (cache == null)
+            return classAnalyzer.analyze(ctClass);
+
+        final ClassResult cachedResult = cache.get(ctClass.getName());
+        if (cachedResult != null)
+            return cachedResult;
+
+        final ClassResult classResult = classAnalyzer.analyze(ctClass);
+        if (classResult != null)
+            cache.put(ctClass.getName(), classResult);
+        return classResult;
+    }
+
+    /**
+     * Waits for the analysis result of a single class. Failures are propagated to the calling thread.
+     *
+     * @param future The future of the class analysis
+     * @return The class result or {@code null} if the class is not relevant
+     */
+    private static ClassResult awaitResult(final Future<ClassResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The project analysis has been interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            throw new IllegalStateException("Could not analyze class", e.getCause());
+        }
+    }
+
+    /**
+     * Adds the location to the class pool. Jar-files are served from memory-mapped files if possible.
      *
      * @param location The location of a jar file or a directory
      */
     private void addToClassPool(final Path location) {
-        if (!location.toFile().exists())
-            throw new IllegalArgumentException("The location '" + location + "' does not exist!");
+        checkExists(location);
+
+        if (isJarFile(location) && addMappedJarToClassPool(location))
+            return;
+
         try {
-            ClassPool.getDefault().insertClassPath(location.toString());
+            insertedClassPaths.add(context.getClassPool().insertClassPath(location.toString()));
         } catch (NotFoundException e) {
             throw new IllegalArgumentException("The location '" + location + "' could not be loaded!", e);
         }
 
     }
 
+    /**
+     * Adds the jar-file as memory-mapped class path to the class pool.
+     *
+     * @param location The location of the jar-file
+     * @return {@code true} if the jar-file could be mapped
+     */
+    private boolean addMappedJarToClassPool(final Path location) {
+        if (jarClassPaths.containsKey(location))
+            return true;
+
+        try {
+            final MappedJarClassPath classPath = new MappedJarClassPath(location);
+            insertedClassPaths.add(context.getClassPool().insertClassPath(classPath));
+            jarClassPaths.put(location, classPath);
+            return true;
+        } catch (IOException e) {
+            LogProvider.debug("Could not map jar-file " + location + ", reason: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Removes all class paths of the last analysis from the class pool and closes them, thus the mapped jar-files can be released.
+     * The already loaded classes remain in the class pool.
+     */
+    private void releaseClassPaths() {
+        // the class pool closes the removed class paths
+        insertedClassPaths.forEach(context.getClassPool()::removeClassPath);
+        insertedClassPaths.clear();
+        jarClassPaths.clear();
+    }
+
     /**
      * Adds the project paths and loads all classes.
      *
@@ -113,7 +342,7 @@ public class ProjectAnalyzer {
     private void addProjectPath(final Path path) {
         addToClassPool(path);
 
-        if (path.toFile().isFile() && path.toString().endsWith(".jar")) {
+        if (isJarFile(path)) {
             addJarClasses(path);
         } else if (path.toFile().isDirectory()) {
             addDirectoryClasses(path, Paths.get(""));
@@ -123,22 +352,45 @@ public class ProjectAnalyzer {
     }
 
     /**
-     * Adds all classes in the given jar-file location to the set of known classes.
+     * Adds all potentially relevant classes in the given jar-file location to the set of known classes.
      *
      * @param location The location of the jar-file
      */
     private void addJarClasses(final Path location) {
+        final MappedJarClassPath classPath = jarClassPaths.get(location);
+        if (classPath == null) {
+            addUnmappedJarClasses(location);
+            return;
+        }
+
+        try {
+            for (final String entryName : classPath.getClassEntryNames()) {
+                projectClassNames.add(convertToQualifiedName(entryName));
+                if (isPotentiallyRelevant(classPath.openEntry(entryName)))
+                    addClass(entryName);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read jar-file '" + location + "', reason: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds all potentially relevant classes in the given jar-file location which could not be mapped to the set of known classes.
+     *
+     * @param location The location of the jar-file
+     */
+    private void addUnmappedJarClasses(final Path location) {
         try (final JarFile jarFile = new JarFile(location.toFile())) {
             final Enumeration<JarEntry> entries = jarFile.entries();
             while (entries.hasMoreElements()) {
-                final String entryName = entries.nextElement().getName();
-                if (entryName.endsWith(".class"))
-                    try {
-                        classes.add(ClassPool.getDefault().getCtClass(convertToQualifiedName(entryName)));
-                    } catch (NotFoundException e) {
-                        LogProvider.error("Could not load class file " + entryName);
-                        LogProvider.debug(e);
-                    }
+                final JarEntry entry = entries.nextElement();
+                final String entryName = entry.getName();
+                if (!entryName.endsWith(".class"))
+                    continue;
+
+                projectClassNames.add(convertToQualifiedName(entryName));
+                if (isPotentiallyRelevant(jarFile.getInputStream(entry)))
+                    addClass(entryName);
             }
         } catch (IOException e) {
             throw new IllegalArgumentException("Could not read jar-file '" + location + "', reason: " + e.getMessage());
@@ -146,7 +398,7 @@ public class ProjectAnalyzer {
     }
 
     /**
-     * Adds all classes in the given directory location to the set of known classes.
+     * Adds all potentially relevant classes in the given directory location to the set of known classes.
      *
      * @param location The location of the current directory
      * @param subPath  The sub-path which is relevant for the package names or {@code null} if currently in the root directory
@@ -157,16 +409,79 @@ public class ProjectAnalyzer {
                 addDirectoryClasses(location.resolve(file.getName()), subPath.resolve(file.getName()));
             else if (file.isFile() && file.getName().endsWith(".class")) {
                 final String classFileName = subPath.resolve(file.getName()).toString();
-                try {
-                    classes.add(ClassPool.getDefault().getCtClass(convertToQualifiedName(classFileName)));
-                } catch (NotFoundException e) {
-                    LogProvider.error("Could not load class file " + classFileName);
-                    LogProvider.debug(e);
-                }
+                projectClassNames.add(convertToQualifiedName(classFileName));
+                if (isPotentiallyRelevant(file.toPath()))
+                    addClass(classFileName);
             }
         }
     }
 
+    /**
+     * Loads the class of the given class-file name and adds it to the set of known classes.
+     *
+     * @param classFileName The file name of the class (e.g. a/package/AClass.class)
+     */
+    private void addClass(final String classFileName) {
+        try {
+            classes.add(context.getClassPool().getCtClass(convertToQualifiedName(classFileName)));
+        } catch (NotFoundException e) {
+            LogProvider.error("Could not load class file " + classFileName);
+            LogProvider.debug(e);
+        }
+    }
+
+    /**
+     * Opens the class file of the given class in the class pool. Classes of mapped jar-files are read from the mapping.
+     *
+     * @param className The fully-qualified class name
+     * @return The content of the class file or {@code null} if the class does not exist
+     */
+    private InputStream openClassFile(final String className) throws IOException {
+        final URL url = context.getClassPool().find(className);
+        if (url == null)
+            return null;
+
+        if ("jar".equals(url.getProtocol())) {
+            for (final MappedJarClassPath classPath : jarClassPaths.values()) {
+                final URL mappedUrl = classPath.find(className);
+                if (mappedUrl != null && mappedUrl.toString().equals(url.toString()))
+                    return classPath.openEntry(className.replace('.', '/') + ".class");
+            }
+        }
+
+        return url.openStream();
+    }
+
+    /**
+     * Checks the class file content in advance, before the class is loaded into the class pool.
+     *
+     * @param classFile The content of the class file
+     * @return {@code false} if the class is definitely not a JAX-RS application or root resource class
+     */
+    private static boolean isPotentiallyRelevant(final InputStream classFile) throws IOException {
+        try (final InputStream inputStream = new BufferedInputStream(classFile)) {
+            return ClassFileScanner.isPotentiallyRelevant(inputStream);
+        }
+    }
+
+    private static boolean isPotentiallyRelevant(final Path classFile) {
+        try {
+            return isPotentiallyRelevant(Files.newInputStream(classFile));
+        } catch (IOException e) {
+            // the class pool will decide later
+            return true;
+        }
+    }
+
+    private static void checkExists(final Path location) {
+        if (!location.toFile().exists())
+            throw new IllegalArgumentException("The location '" + location + "' does not exist!");
+    }
+
+    private static boolean isJarFile(final Path location) {
+        return location.toFile().isFile() && location.toString().endsWith(".jar");
+    }
+
     /**
      * Converts the given file name of a class-file to the fully-qualified class name.
      *
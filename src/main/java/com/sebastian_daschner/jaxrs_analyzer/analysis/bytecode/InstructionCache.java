@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
+import javassist.CtBehavior;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of the relevant instructions of methods. The least recently used entries are evicted first.
+ * The instructions of a method only depend on its byte code, therefore methods are identified by the declaring class, name and descriptor.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class InstructionCache {
+
+    private final Lock lock = new ReentrantLock();
+    private final Map<String, List<Instruction>> instructions;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a cache which holds up to the given number of methods.
+     *
+     * @param maximumSize The maximum number of cached methods
+     */
+    public InstructionCache(final int maximumSize) {
+        if (maximumSize < 1)
+            throw new IllegalArgumentException("The maximum size of the instruction cache must be positive");
+
+        instructions = new LinkedHashMap<String, List<Instruction>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, List<Instruction>> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached instructions of the given method or computes and caches them.
+     * The instructions are computed in the calling thread without blocking other threads.
+     *
+     * @param method       The method
+     * @param instructions The computation of the instructions, used on a cache miss
+     * @return The instructions
+     */
+    public List<Instruction> get(final CtBehavior method, final Supplier<List<Instruction>> instructions) {
+        final String key = method.getDeclaringClass().getName() + '.' + method.getMethodInfo2().getName() + method.getSignature();
+
+        lock.lock();
+        try {
+            final List<Instruction> cachedInstructions = this.instructions.get(key);
+            if (cachedInstructions != null) {
+                hits.incrementAndGet();
+                return cachedInstructions;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.incrementAndGet();
+        final List<Instruction> computedInstructions = instructions.get();
+
+        lock.lock();
+        try {
+            this.instructions.put(key, computedInstructions);
+        } finally {
+            lock.unlock();
+        }
+
+        return computedInstructions;
+    }
+
+    /**
+     * Returns the number of lookups which have been answered from the cache.
+     *
+     * @return The number of cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of lookups which needed to compute the instructions.
+     *
+     * @return The number of cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+}
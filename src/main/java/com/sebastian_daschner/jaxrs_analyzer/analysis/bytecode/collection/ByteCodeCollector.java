@@ -21,31 +21,85 @@ import javassist.CtBehavior;
 import javassist.bytecode.*;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.IntStream;
 
 /**
  * Collects the bytecode information of a method as {@link Instruction}s.
+ * Instructions of opcodes without operands are immutable and therefore shared between all methods.
  * This class is thread-safe.
  *
  * @author Sebastian Daschner
  */
 public class ByteCodeCollector implements Opcode {
 
+    private static final Instruction EXCEPTION_HANDLER_INSTRUCTION = new ExceptionHandlerInstruction();
+
+    /**
+     * The shared instructions of the opcodes without operands, indexed by opcode.
+     */
+    private static final Instruction[] SHARED_INSTRUCTIONS = new Instruction[256];
+
+    /**
+     * The shared push instructions for the (unsigned) byte values.
+     */
+    private static final Instruction[] BYTE_PUSH_INSTRUCTIONS = new Instruction[256];
+
+    static {
+        for (int value = 0; value < BYTE_PUSH_INSTRUCTIONS.length; value++)
+            BYTE_PUSH_INSTRUCTIONS[value] = new PushInstruction(value);
+
+        share(new ReturnInstruction(), ARETURN, DRETURN, FRETURN, IRETURN, LRETURN);
+        share(new DupInstruction(), DUP, DUP2);
+        share(new ThrowInstruction(), ATHROW);
+
+        SHARED_INSTRUCTIONS[ICONST_0] = BYTE_PUSH_INSTRUCTIONS[0];
+        SHARED_INSTRUCTIONS[ICONST_1] = BYTE_PUSH_INSTRUCTIONS[1];
+        SHARED_INSTRUCTIONS[ICONST_2] = BYTE_PUSH_INSTRUCTIONS[2];
+        SHARED_INSTRUCTIONS[ICONST_3] = BYTE_PUSH_INSTRUCTIONS[3];
+        SHARED_INSTRUCTIONS[ICONST_4] = BYTE_PUSH_INSTRUCTIONS[4];
+        SHARED_INSTRUCTIONS[ICONST_5] = BYTE_PUSH_INSTRUCTIONS[5];
+        share(new PushInstruction(-1), ICONST_M1);
+        share(new PushInstruction(0d), DCONST_0);
+        share(new PushInstruction(1d), DCONST_1);
+        share(new PushInstruction(0f), FCONST_0);
+        share(new PushInstruction(1f), FCONST_1);
+        share(new PushInstruction(2f), FCONST_2);
+        share(new PushInstruction(0L), LCONST_0);
+        share(new PushInstruction(1L), LCONST_1);
+
+        shareSizeChanging(1, 0, ACONST_NULL, JSR, JSR_W);
+        shareSizeChanging(0, 2, PUTFIELD);
+        shareSizeChanging(1, 2, IADD, IDIV, IMUL, IREM, ISUB, DADD, DDIV, DMUL, DREM, DSUB, FADD, FDIV, FMUL, FREM, FSUB,
+                LADD, LDIV, LMUL, LSUB, LREM, ISHL, ISHR, IUSHR, LSHL, LSHR, LUSHR, IAND, IOR, IXOR, LAND, LOR, LXOR,
+                DCMPG, DCMPL, FCMPG, FCMPL, LCMP, AALOAD, BALOAD, CALOAD, DALOAD, FALOAD, IALOAD, LALOAD, SALOAD);
+        shareSizeChanging(0, 3, AASTORE, BASTORE, CASTORE, DASTORE, FASTORE, IASTORE, LASTORE, SASTORE);
+        shareSizeChanging(1, 1, ANEWARRAY, ARRAYLENGTH, D2F, D2I, D2L, F2D, F2I, F2L, I2B, I2C, I2D, I2F, I2L, I2S, L2D, L2F, L2I,
+                DNEG, FNEG, INEG, LNEG, INSTANCEOF, SWAP, NEWARRAY);
+        shareSizeChanging(0, 1, PUTSTATIC, POP, POP2, MONITORENTER, MONITOREXIT);
+        shareSizeChanging(3, 2, DUP_X1, DUP2_X1);
+        shareSizeChanging(4, 3, DUP_X2, DUP2_X2);
+
+        // do nothing
+        for (final int opcode : new int[]{CHECKCAST, RETURN, IINC, NOP, RET})
+            share(new DefaultInstruction(Mnemonic.OPCODE[opcode]), opcode);
+    }
+
     private final Lock lock = new ReentrantLock();
-    private CodeIterator codeIterator;
-    private Set<Integer> exceptionHandlerPositions;
+    private final BitSet exceptionHandlerPositions = new BitSet();
+
+    // the positions of the instructions in the instruction list, indexed by bytecode position, reused for all methods
+    private int[] instructionIndexes = new int[0];
 
-    private InvokeInstructionBuilder invokeInstructionBuilder;
-    private FieldInstructionBuilder fieldInstructionBuilder;
-    private LoadStoreInstructionBuilder loadStoreInstructionBuilder;
-    private LdcPushInstructionBuilder ldcPushInstructionBuilder;
-    private WideInstructionBuilder wideInstructionBuilder;
-    private NewInstructionBuilder newInstructionBuilder;
+    private final InvokeInstructionBuilder invokeInstructionBuilder = new InvokeInstructionBuilder();
+    private final FieldInstructionBuilder fieldInstructionBuilder = new FieldInstructionBuilder();
+    private final LoadStoreInstructionBuilder loadStoreInstructionBuilder = new LoadStoreInstructionBuilder();
+    private final LdcPushInstructionBuilder ldcPushInstructionBuilder = new LdcPushInstructionBuilder();
+    private final WideInstructionBuilder wideInstructionBuilder = new WideInstructionBuilder(loadStoreInstructionBuilder);
+    private final NewInstructionBuilder newInstructionBuilder = new NewInstructionBuilder();
+    private CodeIterator codeIterator;
 
     /**
      * Builds the instructions for the given method.
@@ -57,6 +111,7 @@ public class ByteCodeCollector implements Opcode {
         lock.lock();
         try {
             initializeBuilders(method);
+            indexInstructions();
 
             final List<Instruction> instructions = new ArrayList<>();
             codeIterator.move(0);
@@ -64,8 +119,8 @@ public class ByteCodeCollector implements Opcode {
             while (codeIterator.hasNext()) {
                 final int position = codeIterator.next();
 
-                if (exceptionHandlerPositions.contains(position)) {
-                    instructions.add(new ExceptionHandlerInstruction());
+                if (exceptionHandlerPositions.get(position)) {
+                    instructions.add(EXCEPTION_HANDLER_INSTRUCTION);
                 }
 
                 instructions.add(interpretInstruction(position));
@@ -75,12 +130,14 @@ public class ByteCodeCollector implements Opcode {
         } catch (final BadBytecode e) {
             throw new IllegalStateException("Could not analyze byte code.", e);
         } finally {
+            releaseBuilders();
             lock.unlock();
         }
     }
 
     /**
      * Initializes the needed functionality for collecting the bytecode information of the method.
+     * The builders are reused for all methods.
      *
      * @param method The method
      */
@@ -91,18 +148,65 @@ public class ByteCodeCollector implements Opcode {
 
         codeIterator = codeAttribute.iterator();
 
-        invokeInstructionBuilder = new InvokeInstructionBuilder(codeIterator, pool);
-        fieldInstructionBuilder = new FieldInstructionBuilder(codeIterator, pool);
-        loadStoreInstructionBuilder = new LoadStoreInstructionBuilder(codeAttribute, method);
-        ldcPushInstructionBuilder = new LdcPushInstructionBuilder(pool);
-        wideInstructionBuilder = new WideInstructionBuilder(codeIterator, loadStoreInstructionBuilder);
-        newInstructionBuilder = new NewInstructionBuilder(codeIterator, pool);
+        invokeInstructionBuilder.initialize(codeIterator, pool);
+        fieldInstructionBuilder.initialize(codeIterator, pool);
+        loadStoreInstructionBuilder.initialize(codeAttribute, method);
+        ldcPushInstructionBuilder.initialize(pool);
+        wideInstructionBuilder.initialize(codeIterator);
+        newInstructionBuilder.initialize(codeIterator, pool);
 
-        exceptionHandlerPositions = buildExceptionHandlerPositions(codeAttribute.getExceptionTable());
+        final ExceptionTable exceptionTable = codeAttribute.getExceptionTable();
+        for (int i = 0; i < exceptionTable.size(); i++)
+            exceptionHandlerPositions.set(exceptionTable.handlerPc(i));
     }
 
-    private Set<Integer> buildExceptionHandlerPositions(final ExceptionTable exceptionTable) {
-        return IntStream.range(0, exceptionTable.size()).map(exceptionTable::handlerPc).collect(HashSet::new, Set::add, Set::addAll);
+    /**
+     * Determines the positions of the instructions in the instruction list, needed to resolve the targets of branch instructions.
+     *
+     * @throws BadBytecode If the bytecode could not be analyzed
+     */
+    private void indexInstructions() throws BadBytecode {
+        final int codeLength = codeIterator.getCodeLength();
+        if (instructionIndexes.length < codeLength)
+            instructionIndexes = new int[codeLength];
+
+        codeIterator.move(0);
+        int index = 0;
+
+        while (codeIterator.hasNext()) {
+            final int position = codeIterator.next();
+
+            if (exceptionHandlerPositions.get(position))
+                index++;
+
+            instructionIndexes[position] = index++;
+        }
+    }
+
+    /**
+     * Releases the method of the last collection, as collectors might be kept longer than the analyzed classes.
+     */
+    private void releaseBuilders() {
+        codeIterator = null;
+
+        invokeInstructionBuilder.initialize(null, null);
+        fieldInstructionBuilder.initialize(null, null);
+        loadStoreInstructionBuilder.initialize(null, null);
+        ldcPushInstructionBuilder.initialize(null);
+        wideInstructionBuilder.initialize(null);
+        newInstructionBuilder.initialize(null, null);
+
+        exceptionHandlerPositions.clear();
+    }
+
+    private static void share(final Instruction instruction, final int... opcodes) {
+        for (final int opcode : opcodes)
+            SHARED_INSTRUCTIONS[opcode] = instruction;
+    }
+
+    private static void shareSizeChanging(final int numberOfPushes, final int numberOfPops, final int... opcodes) {
+        for (final int opcode : opcodes)
+            SHARED_INSTRUCTIONS[opcode] = new SizeChangingInstruction(Mnemonic.OPCODE[opcode], numberOfPushes, numberOfPops);
     }
 
     /**
@@ -114,7 +218,6 @@ public class ByteCodeCollector implements Opcode {
      */
     private Instruction interpretInstruction(final int position) throws BadBytecode {
         final int currentByte = codeIterator.byteAt(position);
-        final String opCodeName = Mnemonic.OPCODE[currentByte];
 
         switch (currentByte) {
 
@@ -182,48 +285,13 @@ public class ByteCodeCollector implements Opcode {
             case LSTORE_3:
                 return loadStoreInstructionBuilder.buildStore(3);
 
-            case ARETURN:
-            case DRETURN:
-            case FRETURN:
-            case IRETURN:
-            case LRETURN:
-                return new ReturnInstruction();
-
-            case ICONST_0:
-                return new PushInstruction(0);
-            case ICONST_1:
-                return new PushInstruction(1);
-            case ICONST_2:
-                return new PushInstruction(2);
-            case ICONST_3:
-                return new PushInstruction(3);
-            case ICONST_4:
-                return new PushInstruction(4);
-            case ICONST_5:
-                return new PushInstruction(5);
-            case ICONST_M1:
-                return new PushInstruction(-1);
-            case DCONST_0:
-                return new PushInstruction(0d);
-            case DCONST_1:
-                return new PushInstruction(1d);
-            case FCONST_0:
-                return new PushInstruction(0f);
-            case FCONST_1:
-                return new PushInstruction(1f);
-            case FCONST_2:
-                return new PushInstruction(2f);
-            case LCONST_0:
-                return new PushInstruction(0L);
-            case LCONST_1:
-                return new PushInstruction(1L);
             case LDC:
                 return ldcPushInstructionBuilder.build(codeIterator.byteAt(position + 1));
             case LDC_W:
             case LDC2_W:
                 return ldcPushInstructionBuilder.build(codeIterator.u16bitAt(position + 1));
             case BIPUSH:
-                return new PushInstruction(codeIterator.byteAt(position + 1));
+                return BYTE_PUSH_INSTRUCTIONS[codeIterator.byteAt(position + 1)];
             case SIPUSH:
                 return new PushInstruction(codeIterator.s16bitAt(position + 1));
 
@@ -234,130 +302,8 @@ public class ByteCodeCollector implements Opcode {
 
             case NEW:
                 return newInstructionBuilder.build(position);
-            case ACONST_NULL:
-            case JSR:
-            case JSR_W:
-                return new SizeChangingInstruction(opCodeName, 1, 0);
-            case DUP:
-            case DUP2:
-                return new DupInstruction();
-
-            case PUTFIELD:
-            case IF_ACMPEQ:
-            case IF_ACMPNE:
-            case IF_ICMPEQ:
-            case IF_ICMPGE:
-            case IF_ICMPGT:
-            case IF_ICMPLE:
-            case IF_ICMPLT:
-            case IF_ICMPNE:
-                return new SizeChangingInstruction(opCodeName, 0, 2);
-
-            case IADD:
-            case IDIV:
-            case IMUL:
-            case IREM:
-            case ISUB:
-            case DADD:
-            case DDIV:
-            case DMUL:
-            case DREM:
-            case DSUB:
-            case FADD:
-            case FDIV:
-            case FMUL:
-            case FREM:
-            case FSUB:
-            case LADD:
-            case LDIV:
-            case LMUL:
-            case LSUB:
-            case LREM:
-            case ISHL:
-            case ISHR:
-            case IUSHR:
-            case LSHL:
-            case LSHR:
-            case LUSHR:
-            case IAND:
-            case IOR:
-            case IXOR:
-            case LAND:
-            case LOR:
-            case LXOR:
-            case DCMPG:
-            case DCMPL:
-            case FCMPG:
-            case FCMPL:
-            case LCMP:
-            case AALOAD:
-            case BALOAD:
-            case CALOAD:
-            case DALOAD:
-            case FALOAD:
-            case IALOAD:
-            case LALOAD:
-            case SALOAD:
-                return new SizeChangingInstruction(opCodeName, 1, 2);
-            case AASTORE:
-            case BASTORE:
-            case CASTORE:
-            case DASTORE:
-            case FASTORE:
-            case IASTORE:
-            case LASTORE:
-            case SASTORE:
-                return new SizeChangingInstruction(opCodeName, 0, 3);
-
-            case ANEWARRAY:
-            case ARRAYLENGTH:
-            case D2F:
-            case D2I:
-            case D2L:
-            case F2D:
-            case F2I:
-            case F2L:
-            case I2B:
-            case I2C:
-            case I2D:
-            case I2F:
-            case I2L:
-            case I2S:
-            case L2D:
-            case L2F:
-            case L2I:
-            case DNEG:
-            case FNEG:
-            case INEG:
-            case LNEG:
-            case INSTANCEOF:
-            case SWAP:
-            case NEWARRAY:
-                return new SizeChangingInstruction(opCodeName, 1, 1);
-            case PUTSTATIC:
-            case POP:
-            case POP2:
-            case IFEQ:
-            case IFLE:
-            case IFNE:
-            case IFGE:
-            case IFLT:
-            case IFGT:
-            case IFNONNULL:
-            case IFNULL:
-            case MONITORENTER:
-            case MONITOREXIT:
-            case TABLESWITCH:
-            case LOOKUPSWITCH:
-                return new SizeChangingInstruction(opCodeName, 0, 1);
-            case DUP_X1:
-            case DUP2_X1:
-                return new SizeChangingInstruction(opCodeName, 3, 2);
-            case DUP_X2:
-            case DUP2_X2:
-                return new SizeChangingInstruction(opCodeName, 4, 3);
             case MULTIANEWARRAY:
-                return new SizeChangingInstruction(opCodeName, 1, codeIterator.byteAt(position + 3));
+                return new SizeChangingInstruction(Mnemonic.OPCODE[currentByte], 1, codeIterator.byteAt(position + 3));
 
             case INVOKEINTERFACE:
             case INVOKEVIRTUAL:
@@ -367,23 +313,84 @@ public class ByteCodeCollector implements Opcode {
                 return invokeInstructionBuilder.buildStatic(position);
             case INVOKEDYNAMIC:
                 return invokeInstructionBuilder.buildDynamic(position);
-            case ATHROW:
-                return new ThrowInstruction();
-            case CHECKCAST:
-            case RETURN:
-            case IINC:
-            case NOP:
-            case GOTO:
-            case GOTO_W:
-            case RET:
-                // do nothing
-                return new DefaultInstruction(opCodeName);
             case WIDE:
                 return wideInstructionBuilder.build(position);
+
+            case IFEQ:
+            case IFNE:
+            case IFLT:
+            case IFGE:
+            case IFGT:
+            case IFLE:
+            case IFNULL:
+            case IFNONNULL:
+                return buildConditionalBranch(position, 1);
+            case IF_ICMPEQ:
+            case IF_ICMPNE:
+            case IF_ICMPLT:
+            case IF_ICMPGE:
+            case IF_ICMPGT:
+            case IF_ICMPLE:
+            case IF_ACMPEQ:
+            case IF_ACMPNE:
+                return buildConditionalBranch(position, 2);
+            case GOTO:
+                return new BranchInstruction(Mnemonic.OPCODE[currentByte], 0, new int[]{findTarget(position, codeIterator.s16bitAt(position + 1))}, false);
+            case GOTO_W:
+                return new BranchInstruction(Mnemonic.OPCODE[currentByte], 0, new int[]{findTarget(position, codeIterator.s32bitAt(position + 1))}, false);
+            case TABLESWITCH:
+                return buildTableSwitch(position);
+            case LOOKUPSWITCH:
+                return buildLookupSwitch(position);
             default:
-                throw new UnsupportedOperationException(opCodeName + " not handled!");
+                final Instruction instruction = SHARED_INSTRUCTIONS[currentByte];
+                if (instruction == null)
+                    throw new UnsupportedOperationException(Mnemonic.OPCODE[currentByte] + " not handled!");
+                return instruction;
         }
     }
 
+    private Instruction buildConditionalBranch(final int position, final int numberOfPops) {
+        final int target = findTarget(position, codeIterator.s16bitAt(position + 1));
+        return new BranchInstruction(Mnemonic.OPCODE[codeIterator.byteAt(position)], numberOfPops, new int[]{target}, true);
+    }
+
+    private Instruction buildTableSwitch(final int position) {
+        // the operands are aligned to four bytes
+        final int operandPosition = (position & ~3) + 4;
+        final int low = codeIterator.s32bitAt(operandPosition + 4);
+        final int high = codeIterator.s32bitAt(operandPosition + 8);
+
+        final int[] targets = new int[high - low + 2];
+        targets[0] = findTarget(position, codeIterator.s32bitAt(operandPosition));
+        for (int i = 1; i < targets.length; i++)
+            targets[i] = findTarget(position, codeIterator.s32bitAt(operandPosition + 8 + 4 * i));
+
+        return new BranchInstruction(Mnemonic.OPCODE[TABLESWITCH], 1, targets, false);
+    }
+
+    private Instruction buildLookupSwitch(final int position) {
+        // the operands are aligned to four bytes
+        final int operandPosition = (position & ~3) + 4;
+        final int numberOfPairs = codeIterator.s32bitAt(operandPosition + 4);
+
+        final int[] targets = new int[numberOfPairs + 1];
+        targets[0] = findTarget(position, codeIterator.s32bitAt(operandPosition));
+        for (int i = 1; i < targets.length; i++)
+            targets[i] = findTarget(position, codeIterator.s32bitAt(operandPosition + 8 * i + 4));
+
+        return new BranchInstruction(Mnemonic.OPCODE[LOOKUPSWITCH], 1, targets, false);
+    }
+
+    /**
+     * Returns the position of the jumped-to instruction in the instruction list.
+     *
+     * @param position The bytecode position of the branch instruction
+     * @param offset   The branch offset
+     * @return The position in the instruction list
+     */
+    private int findTarget(final int position, final int offset) {
+        return instructionIndexes[position + offset];
+    }
 
 }
@@ -32,10 +32,16 @@ import javassist.bytecode.SignatureAttribute;
  */
 class FieldInstructionBuilder {
 
-    private final CodeIterator codeIterator;
-    private final ConstPool pool;
+    private CodeIterator codeIterator;
+    private ConstPool pool;
 
-    FieldInstructionBuilder(final CodeIterator codeIterator, final ConstPool pool) {
+    /**
+     * Prepares this builder for the given method. {@code null} values release the method which was built before.
+     *
+     * @param codeIterator The code iterator of the method
+     * @param pool         The constant pool of the method
+     */
+    void initialize(final CodeIterator codeIterator, final ConstPool pool) {
         this.codeIterator = codeIterator;
         this.pool = pool;
     }
@@ -50,10 +56,10 @@ class FieldInstructionBuilder {
     GetFieldInstruction buildGetField(final int position) throws BadBytecode {
         final int index = codeIterator.u16bitAt(position + 1);
 
-        final Type containingClass = new Type(pool.getFieldrefClassName(index));
+        final Type containingClass = Type.of(pool.getFieldrefClassName(index));
         final String fieldName = pool.getFieldrefName(index);
         final String fieldrefType = pool.getFieldrefType(index);
-        final Type fieldType = new Type(SignatureAttribute.toTypeSignature(fieldrefType));
+        final Type fieldType = Type.of(SignatureAttribute.toTypeSignature(fieldrefType));
 
         return new GetFieldInstruction(containingClass, fieldName, fieldType);
     }
@@ -68,10 +74,10 @@ class FieldInstructionBuilder {
     GetStaticInstruction buildGetStatic(final int position) throws BadBytecode {
         final int index = codeIterator.u16bitAt(position + 1);
 
-        final Type containingClass = new Type(pool.getFieldrefClassName(index));
+        final Type containingClass = Type.of(pool.getFieldrefClassName(index));
         final String fieldName = pool.getFieldrefName(index);
         final String fieldrefType = pool.getFieldrefType(index);
-        final Type fieldType = new Type(SignatureAttribute.toTypeSignature(fieldrefType));
+        final Type fieldType = Type.of(SignatureAttribute.toTypeSignature(fieldrefType));
 
         return new GetStaticInstruction(containingClass, fieldName, fieldType);
     }
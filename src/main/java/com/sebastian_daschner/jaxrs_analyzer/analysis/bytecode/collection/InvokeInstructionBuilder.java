@@ -16,12 +16,12 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.collection;
 
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.utils.JavaUtils;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.InvokeDynamicInstruction;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.InvokeInstruction;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.types.Type;
-import javassist.ClassPool;
 import javassist.CtClass;
 import javassist.NotFoundException;
 import javassist.bytecode.*;
@@ -35,10 +35,16 @@ import java.util.stream.Stream;
  */
 class InvokeInstructionBuilder {
 
-    private final CodeIterator codeIterator;
-    private final ConstPool pool;
+    private CodeIterator codeIterator;
+    private ConstPool pool;
 
-    InvokeInstructionBuilder(final CodeIterator codeIterator, final ConstPool pool) {
+    /**
+     * Prepares this builder for the given method. {@code null} values release the method which was built before.
+     *
+     * @param codeIterator The code iterator of the method
+     * @param pool         The constant pool of the method
+     */
+    void initialize(final CodeIterator codeIterator, final ConstPool pool) {
         this.codeIterator = codeIterator;
         this.pool = pool;
     }
@@ -82,14 +88,14 @@ class InvokeInstructionBuilder {
         final String lambdaSignature = pool.getUtf8Info(pool.getNameAndTypeDescriptor(lambdaIndex));
         final String lambdaMethodName = pool.getUtf8Info(pool.getNameAndTypeName(lambdaIndex));
         final SignatureAttribute.MethodSignature methodSignature = SignatureAttribute.toMethodSignature(lambdaSignature);
-        final Type lambdaReturnType = new Type(methodSignature.getReturnType());
+        final Type lambdaReturnType = Type.of(methodSignature.getReturnType());
         final Type[] lambdaParameters = Stream.of(methodSignature.getParameterTypes()).map(Type::new).toArray(Type[]::new);
 
-        final MethodIdentifier dynamicIdentifier = MethodIdentifier.ofStatic(new Type(pool.getClassName()), lambdaMethodName, lambdaReturnType, lambdaParameters);
+        final MethodIdentifier dynamicIdentifier = MethodIdentifier.ofStatic(Type.of(pool.getClassName()), lambdaMethodName, lambdaReturnType, lambdaParameters);
 
         final CtClass ctClass;
         try {
-            ctClass = ClassPool.getDefault().get(pool.getClassName());
+            ctClass = AnalysisContext.current().getClassPool().get(pool.getClassName());
         } catch (NotFoundException e) {
             throw new IllegalStateException("Could not analyze bytecode");
         }
@@ -135,10 +141,10 @@ class InvokeInstructionBuilder {
     private static MethodIdentifier buildMethodIdentifier(final String className, final String methodName, final String poolMethodType,
                                                           final boolean staticMethod) throws BadBytecode {
         final SignatureAttribute.MethodSignature methodSignature = SignatureAttribute.toMethodSignature(poolMethodType);
-        final Type returnType = new Type(methodSignature.getReturnType());
+        final Type returnType = Type.of(methodSignature.getReturnType());
         final Type[] parameters = Stream.of(methodSignature.getParameterTypes()).map(Type::new).toArray(Type[]::new);
 
-        return MethodIdentifier.of(new Type(className), methodName, returnType, staticMethod, parameters);
+        return MethodIdentifier.of(Type.of(className), methodName, returnType, staticMethod, parameters);
     }
 
 
@@ -26,9 +26,14 @@ import javassist.bytecode.ConstPool;
  */
 class LdcPushInstructionBuilder {
 
-    private final ConstPool pool;
+    private ConstPool pool;
 
-    LdcPushInstructionBuilder(final ConstPool pool) {
+    /**
+     * Prepares this builder for the given method. A {@code null} value releases the method which was built before.
+     *
+     * @param pool The constant pool of the method
+     */
+    void initialize(final ConstPool pool) {
         this.pool = pool;
     }
 
@@ -25,10 +25,8 @@ import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
 import javassist.CtBehavior;
 import javassist.bytecode.*;
 
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.IntStream;
 
 /**
  * Creates the {@link LoadStoreInstruction} for a given byte code position.
@@ -41,54 +39,58 @@ class LoadStoreInstructionBuilder {
      * The variable name which is taken, if no information is found in the local variables attribute.
      */
     private static final String UNKNOWN_VARIABLE_NAME_PREFIX = "variable$";
-    private final Map<Integer, String> variableNames;
-    private final Map<Integer, Type> variableTypes;
+    private final Map<Integer, String> variableNames = new HashMap<>();
+    private final Map<Integer, Type> variableTypes = new HashMap<>();
+
+    /**
+     * Prepares this builder for the given method. {@code null} values release the method which was built before.
+     *
+     * @param codeAttribute The code attribute of the method
+     * @param method        The method
+     */
+    void initialize(final CodeAttribute codeAttribute, final CtBehavior method) {
+        variableNames.clear();
+        variableTypes.clear();
+
+        if (codeAttribute == null)
+            return;
 
-    LoadStoreInstructionBuilder(final CodeAttribute codeAttribute, final CtBehavior method) {
         final LocalVariableAttribute localVariableAttribute = (LocalVariableAttribute) codeAttribute.getAttribute(LocalVariableAttribute.tag);
         final LocalVariableTypeAttribute localVariableTypeAttribute = (LocalVariableTypeAttribute) codeAttribute.getAttribute(LocalVariableAttribute.typeTag);
 
-        variableNames = buildVariableNames(localVariableAttribute);
-        variableTypes = buildVariableTypes(localVariableAttribute, localVariableTypeAttribute, method);
+        addVariableNames(localVariableAttribute);
+        addVariableTypes(localVariableAttribute, localVariableTypeAttribute, method);
     }
 
     /**
-     * Creates the variable names.
+     * Adds the variable names.
      *
      * @param variableAttribute The localVariableTable attribute
-     * @return The variable names for the variable indexes
      */
-    private Map<Integer, String> buildVariableNames(final LocalVariableAttribute variableAttribute) {
+    private void addVariableNames(final LocalVariableAttribute variableAttribute) {
         if (variableAttribute == null)
-            return Collections.emptyMap();
-        return IntStream.range(0, variableAttribute.tableLength())
-                .collect(HashMap::new,
-                        (m, i) -> m.put(variableAttribute.index(i), variableAttribute.variableName(i))
-                        , Map::putAll);
+            return;
+        for (int i = 0; i < variableAttribute.tableLength(); i++)
+            variableNames.put(variableAttribute.index(i), variableAttribute.variableName(i));
     }
 
     /**
-     * Creates the variable types.
+     * Adds the variable types.
      *
      * @param variableAttribute     The localVariableTable attribute
      * @param variableTypeAttribute The localVariableTypeTable attribute
      * @param method                The method
-     * @return The variable types for the variable indexes
      */
-    private Map<Integer, Type> buildVariableTypes(final LocalVariableAttribute variableAttribute,
-                                                  final LocalVariableTypeAttribute variableTypeAttribute,
-                                                  final CtBehavior method) {
-        final Map<Integer, Type> types = new HashMap<>();
-
+    private void addVariableTypes(final LocalVariableAttribute variableAttribute,
+                                  final LocalVariableTypeAttribute variableTypeAttribute,
+                                  final CtBehavior method) {
         if (variableAttribute != null)
-            IntStream.range(0, variableAttribute.tableLength())
-                    .forEach(i -> types.put(variableAttribute.index(i), getType(variableAttribute.signature(i), method)));
+            for (int i = 0; i < variableAttribute.tableLength(); i++)
+                variableTypes.put(variableAttribute.index(i), getType(variableAttribute.signature(i), method));
 
         if (variableTypeAttribute != null)
-            IntStream.range(0, variableTypeAttribute.tableLength())
-                    .forEach(i -> types.put(variableTypeAttribute.index(i), getType(variableTypeAttribute.signature(i), method)));
-
-        return types;
+            for (int i = 0; i < variableTypeAttribute.tableLength(); i++)
+                variableTypes.put(variableTypeAttribute.index(i), getType(variableTypeAttribute.signature(i), method));
     }
 
     private Type getType(final String signature, final CtBehavior method) {
@@ -98,7 +100,7 @@ class LoadStoreInstructionBuilder {
             final SignatureAttribute.MethodSignature methodSig = method.getGenericSignature() == null ? null :
                     SignatureAttribute.toMethodSignature(method.getGenericSignature());
 
-            return new Type(SignatureAttribute.toTypeSignature(signature), genericClassSignature, null, methodSig);
+            return Type.of(SignatureAttribute.toTypeSignature(signature), genericClassSignature, null, methodSig);
         } catch (BadBytecode e) {
             LogProvider.error("Could not analyze type for signature: " + signature + ", reason: " + e.getMessage());
             LogProvider.debug(e);
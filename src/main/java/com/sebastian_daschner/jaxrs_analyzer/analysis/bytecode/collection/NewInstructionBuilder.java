@@ -28,10 +28,16 @@ import javassist.bytecode.ConstPool;
  */
 class NewInstructionBuilder {
 
-    private final CodeIterator codeIterator;
-    private final ConstPool pool;
+    private CodeIterator codeIterator;
+    private ConstPool pool;
 
-    public NewInstructionBuilder(final CodeIterator codeIterator, final ConstPool pool) {
+    /**
+     * Prepares this builder for the given method. {@code null} values release the method which was built before.
+     *
+     * @param codeIterator The code iterator of the method
+     * @param pool         The constant pool of the method
+     */
+    void initialize(final CodeIterator codeIterator, final ConstPool pool) {
         this.codeIterator = codeIterator;
         this.pool = pool;
     }
@@ -46,7 +52,7 @@ class NewInstructionBuilder {
         final int index = codeIterator.u16bitAt(position + 1);
         final String classInfo = pool.getClassInfo(index);
 
-        return new NewInstruction(new Type(classInfo));
+        return new NewInstruction(Type.of(classInfo));
     }
 
 }
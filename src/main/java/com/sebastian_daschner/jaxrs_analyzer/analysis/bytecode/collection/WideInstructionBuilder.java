@@ -29,14 +29,25 @@ import javassist.bytecode.Opcode;
  */
 class WideInstructionBuilder implements Opcode {
 
-    private final CodeIterator codeIterator;
+    private static final Instruction IINC_INSTRUCTION = new DefaultInstruction(Mnemonic.OPCODE[IINC]);
+    private static final Instruction RET_INSTRUCTION = new DefaultInstruction(Mnemonic.OPCODE[RET]);
+
     private final LoadStoreInstructionBuilder loadStoreInstructionBuilder;
+    private CodeIterator codeIterator;
 
-    WideInstructionBuilder(final CodeIterator codeIterator, final LoadStoreInstructionBuilder loadStoreInstructionBuilder) {
-        this.codeIterator = codeIterator;
+    WideInstructionBuilder(final LoadStoreInstructionBuilder loadStoreInstructionBuilder) {
         this.loadStoreInstructionBuilder = loadStoreInstructionBuilder;
     }
 
+    /**
+     * Prepares this builder for the given method. A {@code null} value releases the method which was built before.
+     *
+     * @param codeIterator The code iterator of the method
+     */
+    void initialize(final CodeIterator codeIterator) {
+        this.codeIterator = codeIterator;
+    }
+
     /**
      * Creates an LOAD, STORE, IINC or RET instruction for the given wide byte code position.
      *
@@ -62,8 +73,9 @@ class WideInstructionBuilder implements Opcode {
             case ASTORE:
                 return loadStoreInstructionBuilder.buildStore(codeIterator.u16bitAt(position + 2));
             case IINC:
+                return IINC_INSTRUCTION;
             case RET:
-                return new DefaultInstruction(Mnemonic.OPCODE[containedOpcode]);
+                return RET_INSTRUCTION;
             default:
                 throw new IllegalArgumentException("WIDE instruction is not valid.");
         }
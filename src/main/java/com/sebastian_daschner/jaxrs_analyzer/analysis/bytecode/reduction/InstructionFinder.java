@@ -17,14 +17,10 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.reduction;
 
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
-import com.sebastian_daschner.jaxrs_analyzer.model.instructions.LoadInstruction;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.LoadStoreInstruction;
 
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
-import java.util.TreeSet;
-import java.util.function.Predicate;
 
 /**
  * Searches for specific instruction occurrences in the byte code.
@@ -33,64 +29,55 @@ import java.util.function.Predicate;
  */
 final class InstructionFinder {
 
+    private static final int[] NO_POSITIONS = new int[0];
+
     private InstructionFinder() {
         throw new UnsupportedOperationException();
     }
 
     /**
-     * Searches for all LOAD indexes which occur in the given instructions.
-     * The LOAD instruction is checked against the given predicate if it should be ignored.
+     * Searches for all LOAD &amp; STORE occurrences in the given instructions in a single pass.
      *
-     * @param instructions  The instructions where to search
-     * @param isLoadIgnored The ignore predicate
-     * @return All found LOAD indexes
-     */
-    static Set<Integer> findLoadIndexes(final List<Instruction> instructions, final Predicate<LoadInstruction> isLoadIgnored) {
-        return instructions.stream().filter(i -> i.getType() == Instruction.InstructionType.LOAD).map(i -> (LoadInstruction) i)
-                .filter(i -> !isLoadIgnored.test(i)).map(LoadInstruction::getNumber).collect(TreeSet::new, Set::add, Set::addAll);
-    }
-
-    /**
-     * Searches for all LOAD &amp; STORE occurrences with {@code index} in the given instructions.
-     *
-     * @param index        The LOAD / STORE index
      * @param instructions The instructions where to search
-     * @return The positions of all found LOAD_{@code index} / STORE_{@code index}
+     * @return The ascending positions of all LOAD_{@code index} / STORE_{@code index}, indexed by the variable index
      */
-    static Set<Integer> findLoadStores(final int index, final List<Instruction> instructions) {
-        final Predicate<Instruction> loadStoreType = instruction -> instruction.getType() == Instruction.InstructionType.LOAD
-                || instruction.getType() == Instruction.InstructionType.STORE;
-        return find(loadStoreType.and(instruction -> ((LoadStoreInstruction) instruction).getNumber() == index), instructions);
-    }
+    static int[][] findLoadStorePositions(final List<Instruction> instructions) {
+        int[][] positions = new int[0][];
+        int[] counts = new int[0];
 
-    /**
-     * Searches for return instructions in the given instructions.
-     *
-     * @param instructions The instructions where to search
-     * @return The positions of all found return instructions
-     */
-    static Set<Integer> findReturnsAndThrows(final List<Instruction> instructions) {
-        return find(instruction -> instruction.getType() == Instruction.InstructionType.RETURN || instruction.getType() == Instruction.InstructionType.THROW, instructions);
-    }
+        for (int position = 0; position < instructions.size(); position++) {
+            final Instruction instruction = instructions.get(position);
+            if (instruction.getType() != Instruction.InstructionType.LOAD && instruction.getType() != Instruction.InstructionType.STORE)
+                continue;
 
-    /**
-     * Searches for certain instruction positions be testing against the predicate.
-     *
-     * @param predicate    The criteria predicate
-     * @param instructions The instructions where to search
-     * @return The positions of all matching instructions
-     */
-    private static Set<Integer> find(final Predicate<Instruction> predicate, final List<Instruction> instructions) {
-        final Set<Integer> positions = new HashSet<>();
-
-        for (int i = 0; i < instructions.size(); i++) {
-            final Instruction instruction = instructions.get(i);
-            if (predicate.test(instruction)) {
-                positions.add(i);
+            final int index = ((LoadStoreInstruction) instruction).getNumber();
+            if (index >= positions.length) {
+                positions = Arrays.copyOf(positions, index + 1);
+                counts = Arrays.copyOf(counts, index + 1);
             }
+
+            if (positions[index] == null)
+                positions[index] = new int[4];
+            else if (counts[index] == positions[index].length)
+                positions[index] = Arrays.copyOf(positions[index], counts[index] * 2);
+
+            positions[index][counts[index]++] = position;
         }
 
+        for (int index = 0; index < positions.length; index++)
+            positions[index] = positions[index] == null ? NO_POSITIONS : Arrays.copyOf(positions[index], counts[index]);
+
         return positions;
     }
 
+    /**
+     * Checks if the given instruction is a return or throw instruction.
+     *
+     * @param instruction The instruction to check
+     * @return {@code true} if the instruction returns or throws
+     */
+    static boolean isReturnOrThrow(final Instruction instruction) {
+        return instruction.getType() == Instruction.InstructionType.RETURN || instruction.getType() == Instruction.InstructionType.THROW;
+    }
+
 }
@@ -16,14 +16,13 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.reduction;
 
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.BranchInstruction;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.LoadInstruction;
 
 import java.util.*;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Determines the instructions, which are relevant for the return value of a method by simulating a runtime stack with the byte code. This class is thread-safe.
@@ -38,12 +37,13 @@ public class RelevantInstructionReducer {
     private static final String[] VARIABLE_NAMES_TO_IGNORE = {"this"};
     private final Lock lock = new ReentrantLock();
     private final StackSizeSimulator stackSizeSimulator = new StackSizeSimulator();
-    private List<Instruction> instructions;
 
     /**
      * Returns all instructions which are somewhat "relevant" for the returned object of the method.
      * The instructions are visited backwards - starting from the return statement.
      * Load and Store operations are handled as well.
+     * The relevant instructions are returned in method natural order, the targets of branch instructions refer to the positions in the reduced instructions.
+     * All branch instructions are kept, thus the reduced instructions have the same control flow (e.g. loops) as the method.
      *
      * @param instructions The instructions to reduce
      * @return The relevant instructions
@@ -51,7 +51,6 @@ public class RelevantInstructionReducer {
     public List<Instruction> reduceInstructions(final List<Instruction> instructions) {
         lock.lock();
         try {
-            this.instructions = instructions;
             stackSizeSimulator.buildStackSizes(instructions);
 
             return reduceInstructionsInternal(instructions);
@@ -62,65 +61,117 @@ public class RelevantInstructionReducer {
 
     /**
      * Returns all reduced instructions.
+     * Every statement is visited at most once and the LOAD / STORE positions of every variable are only looked up once,
+     * thus the reduction takes linear time in the number of instructions.
      *
      * @param instructions All instructions
      * @return The relevant instructions
      */
     private List<Instruction> reduceInstructionsInternal(final List<Instruction> instructions) {
-        final List<Instruction> visitedInstructions = new LinkedList<>();
-        final Set<Integer> visitedInstructionPositions = new HashSet<>();
-        final Set<Integer> handledLoadIndexes = new HashSet<>();
-        final Set<Integer> backtrackPositions = new LinkedHashSet<>(findSortedBacktrackPositions());
+        final BitSet visitedPositions = new BitSet(instructions.size());
+        final int[][] loadStorePositions = InstructionFinder.findLoadStorePositions(instructions);
+        final boolean[] handledLoadIndexes = new boolean[loadStorePositions.length];
 
-        while (!visitedInstructionPositions.containsAll(backtrackPositions)) {
+        // the backtrack positions in the order in which they are visited, every position is queued at most once
+        final int[] backtrackPositions = new int[instructions.size()];
+        final BitSet queuedPositions = new BitSet(instructions.size());
+        int head = 0;
+        int tail = 0;
 
-            // unvisited backtrack position
-            final int backtrackPosition = backtrackPositions.stream().filter(pos -> !visitedInstructionPositions.contains(pos))
-                    .findFirst().orElseThrow(IllegalStateException::new);
-
-            final List<Integer> lastVisitedPositions = stackSizeSimulator.simulateStatementBackwards(backtrackPosition);
-            final List<Instruction> lastVisitedInstructions = lastVisitedPositions.stream().map(instructions::get).collect(Collectors.toList());
-
-            visitedInstructionPositions.addAll(lastVisitedPositions);
-            visitedInstructions.addAll(lastVisitedInstructions);
-
-            // unhandled load indexes
-            final Set<Integer> unhandledLoadIndexes = findUnhandledLoadIndexes(handledLoadIndexes, lastVisitedInstructions);
-
-            // for each load occurrence index -> find load/store backtrack positions (reverse order matters here)
-            final SortedSet<Integer> loadStoreBacktrackPositions = findLoadStoreBacktrackPositions(unhandledLoadIndexes);
-
-            handledLoadIndexes.addAll(unhandledLoadIndexes);
-
-            loadStoreBacktrackPositions.stream().forEach(backtrackPositions::add);
+        // start with last return
+        for (int position = instructions.size() - 1; position >= 0; position--) {
+            if (InstructionFinder.isReturnOrThrow(instructions.get(position))) {
+                backtrackPositions[tail++] = position;
+                queuedPositions.set(position);
+            }
         }
 
-        // sort in method natural order
-        Collections.reverse(visitedInstructions);
-
-        return visitedInstructions;
-    }
-
-    private List<Integer> findSortedBacktrackPositions() {
-        final List<Integer> startPositions = new LinkedList<>(InstructionFinder.findReturnsAndThrows(instructions));
+        final int[] loadStoreBacktrackPositions = new int[instructions.size()];
+
+        while (head < tail) {
+            final int backtrackPosition = backtrackPositions[head++];
+            if (visitedPositions.get(backtrackPosition))
+                continue;
+
+            final int statementStart = stackSizeSimulator.findStatementStart(backtrackPosition);
+            visitedPositions.set(statementStart, backtrackPosition + 1);
+            int loadStoreBacktrackCount = 0;
+
+            // visit the statement backwards
+            for (int position = backtrackPosition; position >= statementStart; position--) {
+                final Instruction instruction = instructions.get(position);
+
+                if (instruction.getType() != Instruction.InstructionType.LOAD || isLoadIgnored((LoadInstruction) instruction))
+                    continue;
+
+                // for each unhandled load index -> find load/store backtrack positions
+                final int index = ((LoadInstruction) instruction).getNumber();
+                if (!handledLoadIndexes[index]) {
+                    handledLoadIndexes[index] = true;
+                    for (final int loadStorePosition : loadStorePositions[index])
+                        loadStoreBacktrackPositions[loadStoreBacktrackCount++] = stackSizeSimulator.findStatementEnd(loadStorePosition);
+                }
+            }
+
+            // reverse order matters here
+            Arrays.sort(loadStoreBacktrackPositions, 0, loadStoreBacktrackCount);
+            for (int i = loadStoreBacktrackCount - 1; i >= 0; i--) {
+                final int position = loadStoreBacktrackPositions[i];
+                if (!queuedPositions.get(position)) {
+                    backtrackPositions[tail++] = position;
+                    queuedPositions.set(position);
+                }
+            }
+        }
 
-        // start with last return
-        Collections.sort(startPositions, Comparator.reverseOrder());
-        return startPositions;
+        return collectVisitedInstructions(instructions, visitedPositions);
     }
 
-
     /**
-     * Searches for load indexes in the {@code lastVisitedInstructions} which are not contained in {@code handledLoadIndexes}.
+     * Returns the visited instructions and all branch instructions in method natural order.
+     * Branch targets are moved to the next kept instruction, or to the end of the reduced instructions.
+     * Branch instructions which have not been visited don't pop their operands, as the instructions which push the operands are not kept.
      *
-     * @param handledLoadIndexes      The load indexed which have been handled so far
-     * @param lastVisitedInstructions The last visited instructions
-     * @return The unhandled load indexes
+     * @param instructions     All instructions
+     * @param visitedPositions The positions of the visited instructions
+     * @return The visited instructions
      */
-    private Set<Integer> findUnhandledLoadIndexes(final Set<Integer> handledLoadIndexes, final List<Instruction> lastVisitedInstructions) {
-        final Set<Integer> lastLoadIndexes = InstructionFinder.findLoadIndexes(lastVisitedInstructions, RelevantInstructionReducer::isLoadIgnored);
+    private static List<Instruction> collectVisitedInstructions(final List<Instruction> instructions, final BitSet visitedPositions) {
+        final BitSet keptPositions = (BitSet) visitedPositions.clone();
+        for (int position = 0; position < instructions.size(); position++) {
+            if (instructions.get(position) instanceof BranchInstruction)
+                keptPositions.set(position);
+        }
+
+        // the reduced position of every position, i.e. the number of kept positions before
+        final int[] reducedPositions = new int[instructions.size() + 1];
+        int reducedPosition = 0;
+        for (int position = 0; position < instructions.size(); position++) {
+            reducedPositions[position] = reducedPosition;
+            if (keptPositions.get(position))
+                reducedPosition++;
+        }
+        reducedPositions[instructions.size()] = reducedPosition;
+
+        final List<Instruction> visitedInstructions = new ArrayList<>(reducedPosition);
+        for (int position = keptPositions.nextSetBit(0); position >= 0; position = keptPositions.nextSetBit(position + 1)) {
+            final Instruction instruction = instructions.get(position);
+            if (instruction instanceof BranchInstruction) {
+                final BranchInstruction branchInstruction = (BranchInstruction) instruction;
+                final int[] targets = new int[branchInstruction.getTargets().length];
+                for (int i = 0; i < targets.length; i++)
+                    targets[i] = reducedPositions[branchInstruction.getTargets()[i]];
+
+                if (visitedPositions.get(position))
+                    visitedInstructions.add(branchInstruction.withTargets(targets));
+                else
+                    visitedInstructions.add(new BranchInstruction(branchInstruction.getDescription(), 0, targets, branchInstruction.isConditional()));
+            } else {
+                visitedInstructions.add(instruction);
+            }
+        }
 
-        return lastLoadIndexes.stream().filter(k -> !handledLoadIndexes.contains(k)).collect(Collectors.toSet());
+        return visitedInstructions;
     }
 
     /**
@@ -130,20 +181,10 @@ public class RelevantInstructionReducer {
      * @return {@code true} if the LOAD instruction will be ignored
      */
     private static boolean isLoadIgnored(final LoadInstruction instruction) {
-        return Stream.of(VARIABLE_NAMES_TO_IGNORE).anyMatch(instruction.getName()::equals);
-    }
-
-    /**
-     * Returns all backtrack positions of the given LOAD / STORE indexes in the instructions.
-     * The backtrack positions of both LOAD and store instructions are the next positions where the runtime stack size is {@code 0}.
-     *
-     * @param unhandledLoadIndexes The LOAD/STORE indexes to find
-     * @return The backtrack positions of the LOAD / STORE indexes
-     */
-    private SortedSet<Integer> findLoadStoreBacktrackPositions(final Set<Integer> unhandledLoadIndexes) {
-        return unhandledLoadIndexes.stream()
-                .map(index -> stackSizeSimulator.findLoadStoreBacktrackPositions(InstructionFinder.findLoadStores(index, instructions)))
-                .collect(() -> new TreeSet<>(Comparator.reverseOrder()), Set::addAll, Set::addAll);
+        for (final String name : VARIABLE_NAMES_TO_IGNORE)
+            if (name.equals(instruction.getName()))
+                return true;
+        return false;
     }
 
 }
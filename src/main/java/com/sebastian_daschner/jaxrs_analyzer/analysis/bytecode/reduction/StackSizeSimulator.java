@@ -16,12 +16,9 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.reduction;
 
-import com.sebastian_daschner.jaxrs_analyzer.model.Pair;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
 
-import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.List;
 
 /**
  * Simulates runtime stack sizes of instructions.
@@ -30,19 +27,30 @@ import java.util.stream.Stream;
  */
 class StackSizeSimulator {
 
-    private List<Pair<Integer, Integer>> stackSizes;
+    // the first and last positions of the statements which contain the instruction of the same position, reused for all methods
+    private int[] statementStarts = new int[0];
+    private int[] statementEnds = new int[0];
 
     /**
-     * Initializes the runtime stack sizes with the given instructions. This has to be called before {@link StackSizeSimulator#simulateStatementBackwards}
+     * Initializes the runtime stack sizes with the given instructions. This has to be called before {@link StackSizeSimulator#findStatementStart}
+     * and {@link StackSizeSimulator#findStatementEnd}.
+     * A statement ranges from a position where the runtime stack is empty to the next position where the stack is empty again.
      *
      * @param instructions The instructions to simulate
      */
     void buildStackSizes(final List<Instruction> instructions) {
-        stackSizes = new ArrayList<>();
+        final int size = instructions.size();
+        if (statementStarts.length < size) {
+            statementStarts = new int[size];
+            statementEnds = new int[size];
+        }
+
         int stackSize = 0;
+        int position = 0;
 
         for (Instruction instruction : instructions) {
-            final int previousStackSize = stackSize;
+            // check against stack size before the instruction was executed
+            statementStarts[position] = stackSize == 0 ? position : statementStarts[position - 1];
 
             stackSize += instruction.getStackSizeDifference();
 
@@ -53,7 +61,15 @@ class StackSizeSimulator {
                 throw new IllegalStateException("Runtime stack under-flow occurred.");
             }
 
-            stackSizes.add(Pair.of(previousStackSize, stackSize));
+            // the stack size after the instruction was executed is temporarily stored
+            statementEnds[position++] = stackSize;
+        }
+
+        int nextStatementEnd = -1;
+        for (position = size - 1; position >= 0; position--) {
+            if (statementEnds[position] == 0)
+                nextStatementEnd = position;
+            statementEnds[position] = nextStatementEnd;
         }
     }
 
@@ -68,52 +84,27 @@ class StackSizeSimulator {
     }
 
     /**
-     * Returns the instruction positions which are visited <i>backwards</i> from {@code backtrackPosition}
-     * until the runtime stack is empty.
+     * Returns the start position of the statement which ends at {@code backtrackPosition}, i.e. the previous position where the runtime stack is empty.
+     * All positions from {@code backtrackPosition} <i>backwards</i> to the returned position are visited.
      *
      * @param backtrackPosition The backtrack position where to start
-     * @return All positions <i>backwards</i> until the previous empty position
+     * @return The first position of the statement (less than or equal to {@code backtrackPosition})
      */
-    List<Integer> simulateStatementBackwards(final int backtrackPosition) {
-        // search for previous zero-position in stackSizes
-        int currentPosition = backtrackPosition;
-
-        // check against stack size before the instruction was executed
-        while (stackSizes.get(currentPosition).getLeft() > 0) {
-            currentPosition--;
-        }
-
-        return Stream.iterate(backtrackPosition, c -> --c).limit(backtrackPosition - currentPosition + 1)
-                .collect(LinkedList::new, Collection::add, Collection::addAll);
+    int findStatementStart(final int backtrackPosition) {
+        return statementStarts[backtrackPosition];
     }
 
     /**
-     * Returns all backtrack positions of the given instruction positions.
-     * The backtrack positions of both LOAD and store instructions are the next positions where the runtime stack size is {@code 0}.
-     *
-     * @param loadStorePositions The LOAD/STORE positions
-     * @return The backtrack positions
-     */
-    Set<Integer> findLoadStoreBacktrackPositions(final Set<Integer> loadStorePositions) {
-        // go to this or next zero-position
-        return loadStorePositions.stream().map(this::findBacktrackPosition).collect(Collectors.toSet());
-    }
-
-    /**
-     * Returns the next position where the stack will be empty.
+     * Returns the backtrack position of the given instruction position, i.e. the next position where the runtime stack will be empty.
      *
      * @param position The current position
      * @return The next empty position
      */
-    private int findBacktrackPosition(final int position) {
-        int currentPosition = position;
-
-        // check against stack size after the instruction was executed
-        while (stackSizes.get(currentPosition).getRight() > 0) {
-            currentPosition++;
-        }
-
-        return currentPosition;
+    int findStatementEnd(final int position) {
+        final int statementEnd = statementEnds[position];
+        if (statementEnd < 0)
+            throw new IllegalStateException("Runtime stack is not empty at the end of the method.");
+        return statementEnd;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.BranchInstruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.ExceptionHandlerInstruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * The basic blocks of the instructions of a method and the control flow between them.
+ * A block starts at the first instruction, at branch targets and exception handlers and after branch, return and throw instructions.
+ * Exception handlers are not connected to the instructions which possibly throw, thus they have no predecessors.
+ * This class is immutable.
+ *
+ * @author Sebastian Daschner
+ */
+class ControlFlowGraph {
+
+    // the first positions of the blocks, followed by the number of instructions
+    private final int[] blockStarts;
+    private final int[][] successors;
+
+    ControlFlowGraph(final List<Instruction> instructions) {
+        final int size = instructions.size();
+        final BitSet leaders = new BitSet(size + 1);
+        leaders.set(0);
+
+        for (int position = 0; position < size; position++) {
+            final Instruction instruction = instructions.get(position);
+            if (instruction instanceof BranchInstruction) {
+                Arrays.stream(((BranchInstruction) instruction).getTargets()).forEach(leaders::set);
+                leaders.set(position + 1);
+            } else if (instruction instanceof ExceptionHandlerInstruction) {
+                leaders.set(position);
+            } else if (isExit(instruction)) {
+                leaders.set(position + 1);
+            }
+        }
+
+        leaders.set(size);
+        blockStarts = leaders.stream().filter(p -> p <= size).toArray();
+
+        successors = new int[getBlockCount()][];
+        for (int block = 0; block < successors.length; block++)
+            successors[block] = findSuccessors(instructions, block);
+    }
+
+    private int[] findSuccessors(final List<Instruction> instructions, final int block) {
+        final int lastPosition = getBlockEnd(block) - 1;
+        final Instruction instruction = instructions.get(lastPosition);
+        final boolean fallsThrough = block + 1 < getBlockCount();
+
+        if (instruction instanceof BranchInstruction) {
+            final BranchInstruction branchInstruction = (BranchInstruction) instruction;
+            final IntStream targetBlocks = Arrays.stream(branchInstruction.getTargets())
+                    .filter(t -> t < instructions.size()).map(this::findBlock);
+            return (branchInstruction.isConditional() && fallsThrough ? IntStream.concat(targetBlocks, IntStream.of(block + 1)) : targetBlocks)
+                    .distinct().toArray();
+        }
+
+        if (isExit(instruction) || !fallsThrough)
+            return new int[0];
+        return new int[]{block + 1};
+    }
+
+    private static boolean isExit(final Instruction instruction) {
+        return instruction.getType() == Instruction.InstructionType.RETURN || instruction.getType() == Instruction.InstructionType.THROW;
+    }
+
+    private int findBlock(final int position) {
+        final int index = Arrays.binarySearch(blockStarts, position);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    int getBlockCount() {
+        return blockStarts.length - 1;
+    }
+
+    /**
+     * Returns the position of the first instruction of the block.
+     *
+     * @param block The block
+     * @return The first position
+     */
+    int getBlockStart(final int block) {
+        return blockStarts[block];
+    }
+
+    /**
+     * Returns the position after the last instruction of the block.
+     *
+     * @param block The block
+     * @return The end position (exclusive)
+     */
+    int getBlockEnd(final int block) {
+        return blockStarts[block + 1];
+    }
+
+    /**
+     * Returns the blocks which are possibly executed after the block.
+     *
+     * @param block The block
+     * @return The successor blocks
+     */
+    int[] getSuccessors(final int block) {
+        return successors[block];
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * An array-backed operand stack of the method simulation. The array grows on demand.
+ * This class is not thread-safe, as it is only used by a single simulation at a time.
+ *
+ * @author Sebastian Daschner
+ */
+class ElementStack {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private Element[] elements = new Element[INITIAL_CAPACITY];
+    private int size;
+
+    void push(final Element element) {
+        if (size == elements.length)
+            elements = Arrays.copyOf(elements, size * 2);
+        elements[size++] = element;
+    }
+
+    Element pop() {
+        final Element element = peek();
+        elements[--size] = null;
+        return element;
+    }
+
+    Element peek() {
+        if (size == 0)
+            throw new EmptyStackException();
+        return elements[size - 1];
+    }
+
+    /**
+     * Pops the given number of elements and returns them in the order they have been pushed.
+     *
+     * @param count The number of elements
+     * @return The popped elements, the top of the stack being the last element
+     */
+    Element[] pop(final int count) {
+        if (count > size)
+            throw new EmptyStackException();
+        size -= count;
+        final Element[] popped = Arrays.copyOfRange(elements, size, size + count);
+        Arrays.fill(elements, size, size + count, null);
+        return popped;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Returns the elements in the order they have been pushed.
+     *
+     * @return The elements, the top of the stack being the last element
+     */
+    Element[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * Replaces the content of the stack with the given elements.
+     *
+     * @param elements The elements in the order they are pushed
+     */
+    void reset(final Element[] elements) {
+        clear();
+        if (this.elements.length < elements.length)
+            this.elements = new Element[Math.max(elements.length, this.elements.length * 2)];
+        System.arraycopy(elements, 0, this.elements, 0, elements.length);
+        size = elements.length;
+    }
+
+}
@@ -16,16 +16,15 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
 
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.IntStream;
 
 /**
  * Simulates the the instructions of a project method. The parameters of the method can be set with the actual arguments. This class is thread-safe.
@@ -34,15 +33,11 @@ import java.util.stream.IntStream;
  */
 public class InjectableArgumentMethodSimulator extends MethodSimulator {
 
-    /**
-     * The called methods in a single recursive method simulation. Used to prevent infinite loops while analysing recursion.
-     */
-    private static final List<MethodIdentifier> EXECUTED_PATH_METHODS = Collections.synchronizedList(new LinkedList<>());
-
     private final Lock lock = new ReentrantLock();
 
     /**
      * Simulates the instructions of the method which will be called with the given arguments.
+     * The results of previous invocations with the same argument values are taken from the method summary cache of the current analysis.
      *
      * @param arguments    The argument values
      * @param instructions The instructions of the method
@@ -50,19 +45,52 @@ public class InjectableArgumentMethodSimulator extends MethodSimulator {
      * @return The return value or {@code null} if return type is void
      */
     public Element simulate(final List<Element> arguments, final List<Instruction> instructions, final MethodIdentifier identifier) {
+        return SimulationContext.execute(context -> simulate(context, arguments, instructions, identifier));
+    }
+
+    private Element simulate(final SimulationContext context, final List<Element> arguments, final List<Instruction> instructions, final MethodIdentifier identifier) {
         // prevent infinite loops on analysing recursion
-        if (EXECUTED_PATH_METHODS.contains(identifier))
+        if (context.isCalled(identifier)) {
+            context.abortCall();
             return Element.EMPTY;
+        }
+
+        if (!context.canCall()) {
+            LogProvider.debug("Reached the simulation limits, not simulating " + identifier);
+            context.abortCall();
+            return MethodPool.DEFAULT_METHOD.apply(identifier).invoke(null, arguments);
+        }
+
+        final MethodSummaryCache summaryCache = AnalysisContext.current().getMethodSummaryCache();
+        final MethodSummaryCache.Key key = summaryCache.createKey(identifier, arguments);
+        if (key != null) {
+            final MethodSummaryCache.Summary summary = summaryCache.get(key);
+            if (summary != null)
+                return summary.createResult();
+        }
 
         lock.lock();
-        EXECUTED_PATH_METHODS.add(identifier);
+        context.enterCall(identifier);
+        final int abortedCalls = context.getAbortedCalls();
         try {
 
             injectArguments(arguments, identifier);
 
-            return simulateInternal(instructions);
+            final Element result = simulateInternal(context, instructions);
+
+            // the simulation has been stopped, thus the result is incomplete
+            if (context.isInstructionLimitExceeded()) {
+                context.abortCall();
+                return MethodPool.DEFAULT_METHOD.apply(identifier).invoke(null, arguments);
+            }
+
+            // results of aborted calls depend on the methods which have been called before
+            if (key != null && context.getAbortedCalls() == abortedCalls)
+                summaryCache.put(key, arguments, result);
+
+            return result;
         } finally {
-            EXECUTED_PATH_METHODS.remove(identifier);
+            context.exitCall(identifier);
             lock.unlock();
         }
     }
@@ -75,9 +103,9 @@ public class InjectableArgumentMethodSimulator extends MethodSimulator {
     private void injectArguments(final List<Element> arguments, final MethodIdentifier identifier) {
         final boolean staticMethod = identifier.isStaticMethod();
         final int startIndex = staticMethod ? 0 : 1;
-        final int endIndex = staticMethod ? arguments.size() - 1 : arguments.size();
 
-        IntStream.rangeClosed(startIndex, endIndex).forEach(i -> localVariables.put(i, arguments.get(staticMethod ? i : i - 1)));
+        for (int i = 0; i < arguments.size(); i++)
+            setLocalVariable(startIndex + i, arguments.get(i));
     }
 
 }
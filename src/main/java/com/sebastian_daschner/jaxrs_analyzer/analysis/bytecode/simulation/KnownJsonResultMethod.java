@@ -76,7 +76,7 @@ enum KnownJsonResultMethod implements IdentifiableMethod {
 
     JSON_ARRAY_BUILDER_BUILD(MethodIdentifier.ofNonStatic(JSON_ARRAY_BUILDER, "build", JSON_ARRAY), (object, arguments) -> {
         Element json = new Element(JSON_ARRAY);
-        json.getPossibleValues().addAll(object.getPossibleValues());
+        json.addPossibleValues(object.getPossibleValues());
         return json;
     }),
 
@@ -123,7 +123,7 @@ enum KnownJsonResultMethod implements IdentifiableMethod {
 
     JSON_OBJECT_BUILDER_BUILD(MethodIdentifier.ofNonStatic(JSON_OBJECT_BUILDER, "build", JSON_OBJECT), (object, arguments) -> {
         final Element json = new Element(JSON_OBJECT);
-        json.getPossibleValues().addAll(object.getPossibleValues());
+        json.addPossibleValues(object.getPossibleValues());
         return json;
     }),
 
@@ -153,6 +153,11 @@ enum KnownJsonResultMethod implements IdentifiableMethod {
         return function.apply(object, arguments);
     }
 
+    @Override
+    public MethodIdentifier getIdentifier() {
+        return identifier;
+    }
+
     @Override
     public boolean matches(final MethodIdentifier identifier) {
         return this.identifier.equals(identifier);
@@ -164,7 +169,7 @@ enum KnownJsonResultMethod implements IdentifiableMethod {
 
     private static Element addToArray(final Element object, final List<Element> arguments, final Type typeOverride) {
         final Element element = new Element(typeOverride);
-        element.getPossibleValues().addAll(arguments.get(0).getPossibleValues());
+        element.addPossibleValues(arguments.get(0).getPossibleValues());
         return addToArray(object, element);
     }
 
@@ -183,7 +188,7 @@ enum KnownJsonResultMethod implements IdentifiableMethod {
 
     private static Element mergeJsonStructure(final Element object, final List<Element> arguments, final Type typeOverride) {
         final Element element = new Element(typeOverride);
-        element.getPossibleValues().addAll(arguments.get(1).getPossibleValues());
+        element.addPossibleValues(arguments.get(1).getPossibleValues());
         return mergeJsonStructure(object, arguments.get(0), element);
     }
 
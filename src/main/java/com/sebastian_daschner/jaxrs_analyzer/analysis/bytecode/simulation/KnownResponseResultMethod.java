@@ -348,7 +348,7 @@ enum KnownResponseResultMethod implements IdentifiableMethod {
 
     RESOURCE_CONTEXT_INIT(ofNonStatic(RESOURCE_CONTEXT, "getResource", OBJECT, new Type(Class.class.getName())),
             (object, arguments) -> new Element(arguments.get(0).getPossibleValues().stream()
-                    .filter(s -> s instanceof String).map(s -> new Type((String) s)).collect(Collectors.toSet()))
+                    .filter(s -> s instanceof String).map(s -> Type.of((String) s)).collect(Collectors.toSet()))
     ),
 
     RESOURCE_CONTEXT_GET(ofNonStatic(RESOURCE_CONTEXT, "initResource", OBJECT, OBJECT),
@@ -418,6 +418,11 @@ enum KnownResponseResultMethod implements IdentifiableMethod {
         return function.apply(object, arguments);
     }
 
+    @Override
+    public MethodIdentifier getIdentifier() {
+        return identifier;
+    }
+
     @Override
     public boolean matches(final MethodIdentifier identifier) {
         return this.identifier.equals(identifier);
@@ -16,6 +16,7 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
 
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.IdentifiableMethod;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.Method;
@@ -23,56 +24,56 @@ import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.ProjectMethod;
 import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
 
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 /**
- * A thread-safe singleton pool of known {@link Method}s.
+ * A thread-safe pool of known {@link Method}s. Every analysis uses its own pool, see {@link AnalysisContext}.
  *
  * @author Sebastian Daschner
  */
 public class MethodPool {
 
     /**
-     * The only instance of the method pool.
+     * The behaviour of unknown methods, also used for project methods which are not simulated.
      */
-    private static final MethodPool INSTANCE = new MethodPool();
-    private static final Function<MethodIdentifier, Method> DEFAULT_METHOD = identifier -> (object, arguments) -> {
+    static final Function<MethodIdentifier, Method> DEFAULT_METHOD = identifier -> (object, arguments) -> {
         if (!Types.PRIMITIVE_VOID.equals(identifier.getReturnType()))
             return new Element(identifier.getReturnType());
         return null;
     };
 
-    private final List<IdentifiableMethod> availableMethods;
-    private final ReadWriteLock readWriteLock;
-
-    private MethodPool() {
-        availableMethods = new LinkedList<>();
+    private final ConcurrentMap<MethodIdentifier, IdentifiableMethod> availableMethods = new ConcurrentHashMap<>();
 
+    public MethodPool() {
         // order matters, known methods are taken first
-        Stream.of(KnownResponseResultMethod.values()).forEach(availableMethods::add);
-        Stream.of(KnownJsonResultMethod.values()).forEach(availableMethods::add);
-
-        readWriteLock = new ReentrantReadWriteLock();
+        Stream.of(KnownResponseResultMethod.values()).forEach(this::addMethod);
+        Stream.of(KnownJsonResultMethod.values()).forEach(this::addMethod);
     }
 
     /**
-     * Adds a project method to the pool.
+     * Adds a project method to the pool. Methods with an already known identifier are ignored.
      *
      * @param method The method to add
      */
     public void addProjectMethod(final ProjectMethod method) {
-        readWriteLock.writeLock().lock();
-        try {
-            availableMethods.add(method);
-        } finally {
-            readWriteLock.writeLock().unlock();
-        }
+        addMethod(method);
+    }
+
+    /**
+     * Checks if the pool contains a known or project method with the given identifier.
+     *
+     * @param identifier The method identifier
+     * @return {@code true} if the method is contained
+     */
+    public boolean contains(final MethodIdentifier identifier) {
+        return availableMethods.containsKey(identifier);
+    }
+
+    private void addMethod(final IdentifiableMethod method) {
+        availableMethods.putIfAbsent(method.getIdentifier(), method);
     }
 
     /**
@@ -83,26 +84,21 @@ public class MethodPool {
      */
     public Method get(final MethodIdentifier identifier) {
         // search for available methods
-        readWriteLock.readLock().lock();
-        try {
-            final Optional<? extends IdentifiableMethod> method = availableMethods.stream().filter(m -> m.matches(identifier)).findAny();
-            if (method.isPresent())
-                return method.get();
-        } finally {
-            readWriteLock.readLock().unlock();
-        }
+        final Method method = availableMethods.get(identifier);
+        if (method != null)
+            return method;
 
         // apply default behaviour
         return DEFAULT_METHOD.apply(identifier);
     }
 
     /**
-     * Returns the singleton instance.
+     * Returns the method pool of the current analysis.
      *
      * @return The method pool
      */
     public static MethodPool getInstance() {
-        return INSTANCE;
+        return AnalysisContext.current().getMethodPool();
     }
 
 }
@@ -16,7 +16,7 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
 
-import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.MethodHandle;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.*;
@@ -25,28 +25,43 @@ import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.types.Type;
 import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
 
-import java.lang.reflect.Field;
-import java.util.*;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
- * Simulates the instructions of a method. This class is thread-safe.
+ * Simulates the instructions of a method. The basic blocks of the instructions are simulated until the runtime stacks at the block entries
+ * and the local variables don't change anymore, the runtime stacks are merged where the control flow joins.
+ * This class is thread-safe.
  *
  * @author Sebastian Daschner
  */
 public class MethodSimulator {
 
+    private static final int INITIAL_LOCAL_VARIABLES = 8;
+
+    /**
+     * The maximum number of times a basic block is simulated. Further changes, e.g. of values which are carried across loop iterations, are ignored.
+     */
+    static final int MAXIMUM_BLOCK_VISITS = 3;
+
     private final Lock lock = new ReentrantLock();
-    private final MethodPool methodPool = MethodPool.getInstance();
-    private final Stack<Element> runtimeStack = new Stack<>();
+    private final ElementStack runtimeStack = new ElementStack();
 
-    protected Map<Integer, Element> localVariables = new HashMap<>();
+    /**
+     * The local variables, indexed by their slot number. Grows on demand.
+     */
+    private Element[] localVariables = new Element[INITIAL_LOCAL_VARIABLES];
 
     private Element returnElement;
 
+    /**
+     * Incremented whenever a local variable gains a new possible value.
+     */
+    private int localVariablesVersion;
+
     /**
      * Simulates the instructions and collects information about the resource method.
      *
@@ -56,25 +71,110 @@ public class MethodSimulator {
     public Element simulate(final List<Instruction> instructions) {
         lock.lock();
         try {
+            // the simulator is possibly reused, thus the state of the previous simulation is dropped
             returnElement = null;
-            return simulateInternal(instructions);
+            runtimeStack.clear();
+            Arrays.fill(localVariables, null);
+            return SimulationContext.execute(context -> simulateInternal(context, instructions));
         } finally {
             lock.unlock();
         }
     }
 
     /**
-     * Simulates the instructions of the method.
+     * Simulates the instructions of the method. The simulation of a nested method stops if the maximum number of instructions is exceeded.
      *
+     * @param context      The context of the current simulation
      * @param instructions The instructions to simulate
      * @return The return element of the method
      */
-    protected Element simulateInternal(final List<Instruction> instructions) {
-        instructions.stream().forEach(this::simulate);
+    Element simulateInternal(final SimulationContext context, final List<Instruction> instructions) {
+        final ControlFlowGraph graph = new ControlFlowGraph(instructions);
+        final int blockCount = graph.getBlockCount();
+
+        // the runtime stacks at the block entries, null if a block has not been reached yet
+        final Element[][] entryStacks = new Element[blockCount][];
+        final int[] visits = new int[blockCount];
+        // the version of the local variables with which a block has been simulated last
+        final int[] visitedVersions = new int[blockCount];
+        final BitSet worklist = new BitSet(blockCount);
+        int unvisitedBlock = 0;
+
+        if (blockCount > 0) {
+            entryStacks[0] = runtimeStack.toArray();
+            worklist.set(0);
+        }
+
+        while (true) {
+            // the blocks are taken in method natural order, blocks which are not reached by the control flow (e.g. exception handlers) are simulated afterwards
+            int block = worklist.nextSetBit(0);
+            if (block >= 0) {
+                worklist.clear(block);
+            } else {
+                while (unvisitedBlock < blockCount && visits[unvisitedBlock] > 0)
+                    unvisitedBlock++;
+                if (unvisitedBlock == blockCount)
+                    break;
+                block = unvisitedBlock;
+                if (entryStacks[block] == null)
+                    entryStacks[block] = new Element[0];
+            }
+
+            if (visits[block] >= MAXIMUM_BLOCK_VISITS)
+                continue;
+            visits[block]++;
+
+            runtimeStack.reset(entryStacks[block]);
+            visitedVersions[block] = localVariablesVersion;
+
+            for (int position = graph.getBlockStart(block); position < graph.getBlockEnd(block); position++) {
+                if (!context.simulateInstruction())
+                    return returnElement;
+                simulate(instructions.get(position));
+            }
+
+            final Element[] exitStack = runtimeStack.toArray();
+            for (final int successor : graph.getSuccessors(block)) {
+                // changed local variables are propagated to all visited successors, even if the current block has not changed them itself
+                if (joinEntryStack(entryStacks, successor, exitStack) || visits[successor] > 0 && visitedVersions[successor] != localVariablesVersion)
+                    worklist.set(successor);
+            }
+        }
 
         return returnElement;
     }
 
+    /**
+     * Merges the runtime stack into the entry stack of the given block.
+     *
+     * @param entryStacks The entry stacks of all blocks
+     * @param block       The block
+     * @param stack       The runtime stack which flows into the block
+     * @return {@code true} if the entry stack has changed
+     */
+    private static boolean joinEntryStack(final Element[][] entryStacks, final int block, final Element[] stack) {
+        final Element[] entryStack = entryStacks[block];
+        if (entryStack == null) {
+            entryStacks[block] = stack.clone();
+            return true;
+        }
+
+        // the reduced instructions of different paths possibly leave different stack sizes, the first stack is kept then
+        if (entryStack.length != stack.length)
+            return false;
+
+        boolean changed = false;
+        for (int i = 0; i < stack.length; i++) {
+            if (entryStack[i] != stack[i] && !entryStack[i].includes(stack[i])) {
+                // the entry element might be referenced elsewhere, thus it is copied before merging
+                final Element copy = entryStack[i] instanceof MethodHandle ? new MethodHandle((MethodHandle) entryStack[i]) : new Element(entryStack[i]);
+                entryStack[i] = copy.merge(stack[i]);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
     /**
      * Simulates the instruction.
      *
@@ -84,7 +184,7 @@ public class MethodSimulator {
         switch (instruction.getType()) {
             case PUSH:
                 final Object value = ((PushInstruction) instruction).getValue();
-                runtimeStack.push(new Element(new Type(value.getClass().getCanonicalName()), value));
+                runtimeStack.push(new Element(Type.of(value.getClass().getCanonicalName()), value));
                 break;
             case METHOD_HANDLE:
                 simulateMethodHandle((InvokeDynamicInstruction) instruction);
@@ -97,11 +197,12 @@ public class MethodSimulator {
                 runtimeStack.push(new Element(((GetFieldInstruction) instruction).getPropertyType()));
                 break;
             case GET_STATIC:
-                simulateGetStatic((GetStaticInstruction) instruction);
+                runtimeStack.push(AnalysisContext.current().getStaticFieldCache().get((GetStaticInstruction) instruction));
                 break;
             case LOAD:
                 final LoadInstruction loadInstruction = (LoadInstruction) instruction;
-                runtimeStack.push(localVariables.getOrDefault(loadInstruction.getNumber(), new Element(loadInstruction.getVariableType())));
+                final Element variable = getLocalVariable(loadInstruction.getNumber());
+                runtimeStack.push(variable != null ? variable : new Element(loadInstruction.getVariableType()));
                 break;
             case STORE:
                 simulateStore((StoreInstruction) instruction);
@@ -137,12 +238,11 @@ public class MethodSimulator {
      * @param instruction The instruction to simulate
      */
     private void simulateMethodHandle(final InvokeDynamicInstruction instruction) {
-        final List<Element> arguments = instruction.getDynamicIdentifier().getParameters().stream().map(t -> runtimeStack.pop()).collect(Collectors.toList());
-        Collections.reverse(arguments);
+        final Element[] poppedArguments = runtimeStack.pop(instruction.getDynamicIdentifier().getParameters().size());
 
-        if (!instruction.getDynamicIdentifier().isStaticMethod())
-            // first parameter is `this`
-            arguments.remove(0);
+        // first parameter is `this` for non-static methods
+        final int firstArgument = instruction.getDynamicIdentifier().isStaticMethod() ? 0 : 1;
+        final List<Element> arguments = Arrays.asList(poppedArguments).subList(firstArgument, poppedArguments.length);
 
         // adds the transferred arguments of the bootstrap call
         runtimeStack.push(new MethodHandle(instruction.getDynamicIdentifier().getReturnType(), instruction.getIdentifier(), arguments));
@@ -154,11 +254,8 @@ public class MethodSimulator {
      * @param instruction The instruction to simulate
      */
     private void simulateInvoke(final InvokeInstruction instruction) {
-        final List<Element> arguments = new LinkedList<>();
-        MethodIdentifier identifier = instruction.getIdentifier();
-
-        identifier.getParameters().forEach(t -> arguments.add(runtimeStack.pop()));
-        Collections.reverse(arguments);
+        final MethodIdentifier identifier = instruction.getIdentifier();
+        final List<Element> arguments = Arrays.asList(runtimeStack.pop(identifier.getParameters().size()));
 
         Element object = null;
         Method method;
@@ -167,35 +264,16 @@ public class MethodSimulator {
             if (object instanceof MethodHandle) {
                 method = (Method) object;
             } else {
-                method = methodPool.get(identifier);
+                method = MethodPool.getInstance().get(identifier);
             }
         } else {
-            method = methodPool.get(identifier);
+            method = MethodPool.getInstance().get(identifier);
         }
         final Element returnedElement = method.invoke(object, arguments);
         if (returnedElement != null)
             runtimeStack.push(returnedElement);
     }
 
-    /**
-     * Simulates the get static instruction.
-     *
-     * @param instruction The instruction to simulate
-     */
-    private void simulateGetStatic(final GetStaticInstruction instruction) {
-        try {
-            // TODO test other get_static scenarios
-            final Field field = Class.forName(instruction.getContainingClass().toString()).getDeclaredField(instruction.getPropertyName());
-            field.setAccessible(true);
-            final Object value = field.get(null);
-            runtimeStack.push(new Element(instruction.getPropertyType(), value));
-        } catch (ReflectiveOperationException e) {
-            LogProvider.error("Could not access static property, reason: " + e.getMessage());
-            LogProvider.debug(e);
-            runtimeStack.push(new Element(instruction.getPropertyType()));
-        }
-    }
-
     /**
      * Simulates the store instruction.
      *
@@ -219,9 +297,8 @@ public class MethodSimulator {
      * @param element      The element to merge
      */
     private void mergeElementStore(final int index, final Type variableType, final Element element) {
-        final Element created = new Element(variableType);
-        created.merge(element);
-        localVariables.merge(index, created, Element::merge);
+        // the copy shares the sets of the stored element until one of them changes
+        mergeLocalVariable(index, new Element(element).merge(new Element(variableType)));
     }
 
     /**
@@ -231,7 +308,42 @@ public class MethodSimulator {
      * @param methodHandle The method handle to merge
      */
     private void mergeMethodHandleStore(final int index, final MethodHandle methodHandle) {
-        localVariables.merge(index, new MethodHandle(methodHandle), Element::merge);
+        mergeLocalVariable(index, new MethodHandle(methodHandle));
+    }
+
+    /**
+     * Merges the element to the local variable with the given index. The element is stored if the variable is not set yet.
+     *
+     * @param index   The index of the variable
+     * @param element The element to merge
+     */
+    private void mergeLocalVariable(final int index, final Element element) {
+        final Element variable = getLocalVariable(index);
+        if (variable == null || !variable.includes(element))
+            localVariablesVersion++;
+        setLocalVariable(index, variable != null ? variable.merge(element) : element);
+    }
+
+    /**
+     * Returns the local variable with the given index.
+     *
+     * @param index The index of the variable
+     * @return The element or {@code null} if the variable is not set
+     */
+    private Element getLocalVariable(final int index) {
+        return index < localVariables.length ? localVariables[index] : null;
+    }
+
+    /**
+     * Sets the local variable with the given index.
+     *
+     * @param index   The index of the variable
+     * @param element The element to store
+     */
+    protected void setLocalVariable(final int index, final Element element) {
+        if (index >= localVariables.length)
+            localVariables = Arrays.copyOf(localVariables, Math.max(index + 1, localVariables.length * 2));
+        localVariables[index] = element;
     }
 
     /**
@@ -250,8 +362,10 @@ public class MethodSimulator {
      * @param instruction The instruction to simulate
      */
     private void simulateSizeChange(final SizeChangingInstruction instruction) {
-        IntStream.range(0, instruction.getNumberOfPops()).forEach(i -> runtimeStack.pop());
-        IntStream.range(0, instruction.getNumberOfPushes()).forEach(i -> runtimeStack.push(Element.EMPTY));
+        for (int i = 0; i < instruction.getNumberOfPops(); i++)
+            runtimeStack.pop();
+        for (int i = 0; i < instruction.getNumberOfPushes(); i++)
+            runtimeStack.push(Element.EMPTY);
     }
 
     /**
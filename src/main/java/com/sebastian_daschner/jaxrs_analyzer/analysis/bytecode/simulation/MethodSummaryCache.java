@@ -0,0 +1,291 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.HttpResponse;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonArray;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonObject;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonValue;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Type;
+
+import javax.ws.rs.core.MediaType;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded cache of the simulation results of project methods, identified by the method and the abstract values of the arguments.
+ * The least recently used entries are evicted first.
+ * <p>
+ * The simulation works on mutable elements, therefore only invocations with immutable argument values (e.g. strings, numbers or enums) are cached
+ * and every returned result is a deep copy of the cached element. Results which can't be copied (e.g. method handles) are not cached.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class MethodSummaryCache {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(String.class, Boolean.class, Character.class, Byte.class,
+            Short.class, Integer.class, Long.class, Float.class, Double.class, Type.class, MediaType.class));
+
+    private final Lock lock = new ReentrantLock();
+    private final Map<Key, Summary> summaries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a cache which holds up to the given number of results.
+     *
+     * @param maximumSize The maximum number of cached results
+     */
+    public MethodSummaryCache(final int maximumSize) {
+        if (maximumSize < 1)
+            throw new IllegalArgumentException("The maximum size of the method summary cache must be positive");
+
+        summaries = new LinkedHashMap<Key, Summary>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Summary> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Creates the key of the invocation with the current values of the arguments.
+     *
+     * @param identifier The invoked method
+     * @param arguments  The argument values
+     * @return The key or {@code null} if the invocation can't be cached
+     */
+    Key createKey(final MethodIdentifier identifier, final List<Element> arguments) {
+        final List<Element> argumentSnapshots = new ArrayList<>(arguments.size());
+        for (final Element argument : arguments) {
+            if (argument == Element.EMPTY) {
+                argumentSnapshots.add(argument);
+                continue;
+            }
+            if (argument.getClass() != Element.class || !argument.getPossibleValues().stream().allMatch(MethodSummaryCache::isImmutable))
+                return null;
+            argumentSnapshots.add(new Element(argument));
+        }
+        return new Key(identifier, argumentSnapshots);
+    }
+
+    /**
+     * Returns the cached summary of the invocation.
+     *
+     * @param key The key of the invocation
+     * @return The summary or {@code null} if the invocation is not cached
+     */
+    Summary get(final Key key) {
+        final Summary summary;
+        lock.lock();
+        try {
+            summary = summaries.get(key);
+        } finally {
+            lock.unlock();
+        }
+
+        if (summary == null)
+            misses.incrementAndGet();
+        else
+            hits.incrementAndGet();
+        return summary;
+    }
+
+    /**
+     * Caches the result of the invocation. The result is ignored if the simulation changed the arguments or if the result can't be copied.
+     *
+     * @param key       The key of the invocation
+     * @param arguments The argument values after the simulation
+     * @param result    The result of the simulation or {@code null} for void methods
+     */
+    void put(final Key key, final List<Element> arguments, final Element result) {
+        if (!key.arguments.equals(arguments))
+            return;
+
+        final Element copiedResult = result == null ? null : copy(result, new IdentityHashMap<>());
+        if (result != null && copiedResult == null)
+            return;
+
+        lock.lock();
+        try {
+            summaries.put(key, new Summary(copiedResult));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of invocations which have been answered from the cache.
+     *
+     * @return The number of cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of cacheable invocations which needed to be simulated.
+     *
+     * @return The number of cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static boolean isImmutable(final Object value) {
+        return value == null || value instanceof Enum || IMMUTABLE_TYPES.contains(value.getClass());
+    }
+
+    /**
+     * Creates a deep copy of the element. Values which are referenced several times are copied only once.
+     *
+     * @param element The element to copy
+     * @param copies  The already copied values
+     * @return The copy or {@code null} if the element contains values which can't be copied
+     */
+    private static Element copy(final Element element, final Map<Object, Object> copies) {
+        if (element == Element.EMPTY)
+            return element;
+        if (element.getClass() != Element.class)
+            return null;
+        if (element.isWidened())
+            return new Element(element);
+
+        final Element copiedElement = new Element(element.getTypes());
+        for (final Object value : element.getPossibleValues()) {
+            final Object copiedValue = copyValue(value, copies);
+            if (copiedValue == null && value != null)
+                return null;
+            copiedElement.addPossibleValue(copiedValue);
+        }
+        return copiedElement;
+    }
+
+    private static Object copyValue(final Object value, final Map<Object, Object> copies) {
+        if (isImmutable(value))
+            return value;
+
+        final Object existingCopy = copies.get(value);
+        if (existingCopy != null)
+            return existingCopy;
+
+        if (value instanceof HttpResponse) {
+            final HttpResponse response = (HttpResponse) value;
+            final HttpResponse copiedResponse = new HttpResponse();
+            copies.put(value, copiedResponse);
+
+            copiedResponse.getStatuses().addAll(response.getStatuses());
+            copiedResponse.getHeaders().addAll(response.getHeaders());
+            copiedResponse.getContentTypes().addAll(response.getContentTypes());
+            copiedResponse.getEntityTypes().addAll(response.getEntityTypes());
+            for (final JsonValue inlineEntity : response.getInlineEntities()) {
+                final Object copiedEntity = copyValue(inlineEntity, copies);
+                if (copiedEntity == null)
+                    return null;
+                copiedResponse.getInlineEntities().add((JsonValue) copiedEntity);
+            }
+            return copiedResponse;
+        }
+
+        if (value instanceof JsonObject) {
+            final JsonObject copiedObject = new JsonObject();
+            copies.put(value, copiedObject);
+
+            for (final Map.Entry<String, Element> entry : ((JsonObject) value).getStructure().entrySet()) {
+                final Element copiedElement = copy(entry.getValue(), copies);
+                if (copiedElement == null)
+                    return null;
+                copiedObject.getStructure().put(entry.getKey(), copiedElement);
+            }
+            return copiedObject;
+        }
+
+        if (value instanceof JsonArray) {
+            final JsonArray copiedArray = new JsonArray();
+            copies.put(value, copiedArray);
+
+            for (final Element element : ((JsonArray) value).getElements()) {
+                final Element copiedElement = copy(element, copies);
+                if (copiedElement == null)
+                    return null;
+                copiedArray.getElements().add(copiedElement);
+            }
+            return copiedArray;
+        }
+
+        return null;
+    }
+
+    /**
+     * Identifies an invocation by the method and the types and possible values of the arguments.
+     */
+    static class Key {
+
+        private final MethodIdentifier identifier;
+        private final List<Element> arguments;
+
+        private Key(final MethodIdentifier identifier, final List<Element> arguments) {
+            this.identifier = identifier;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            final Key key = (Key) o;
+
+            return identifier.equals(key.identifier) && arguments.equals(key.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * identifier.hashCode() + arguments.hashCode();
+        }
+    }
+
+    /**
+     * The cached result of an invocation.
+     */
+    static class Summary {
+
+        private final Element result;
+
+        private Summary(final Element result) {
+            this.result = result;
+        }
+
+        /**
+         * Returns a new copy of the result, as the simulation modifies the returned elements.
+         *
+         * @return The result or {@code null} for void methods
+         */
+        Element createResult() {
+            return result == null ? null : copy(result, new IdentityHashMap<>());
+        }
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The state of a single method simulation, including the nested simulations of all invoked project methods.
+ * Keeps track of the currently called methods to prevent infinite loops while analysing recursion and bounds the simulation
+ * by the maximum call depth and the maximum number of simulated instructions of the current analysis.
+ * The context is bound to the simulating thread while the outermost method is simulated, therefore concurrent simulations don't influence each other.
+ * This class is not thread-safe, as a simulation runs in a single thread.
+ *
+ * @author Sebastian Daschner
+ */
+class SimulationContext {
+
+    private static final ThreadLocal<SimulationContext> CURRENT_CONTEXT = new ThreadLocal<>();
+
+    private final Set<MethodIdentifier> calledMethods = new HashSet<>();
+    private final int maximumCallDepth;
+    private final int maximumInstructions;
+
+    private int callDepth;
+    private int simulatedInstructions;
+    private int abortedCalls;
+
+    private SimulationContext(final int maximumCallDepth, final int maximumInstructions) {
+        this.maximumCallDepth = maximumCallDepth;
+        this.maximumInstructions = maximumInstructions;
+    }
+
+    /**
+     * Executes the simulation within the context of the current thread.
+     * A new context with the limits of the current analysis is bound to the thread if no simulation is running yet.
+     *
+     * @param simulation The simulation
+     * @param <T>        The type of the result
+     * @return The result of the simulation
+     */
+    static <T> T execute(final Function<SimulationContext, T> simulation) {
+        final SimulationContext currentContext = CURRENT_CONTEXT.get();
+        if (currentContext != null)
+            return simulation.apply(currentContext);
+
+        final AnalysisContext analysisContext = AnalysisContext.current();
+        final SimulationContext context = new SimulationContext(analysisContext.getMaximumCallDepth(), analysisContext.getMaximumSimulatedInstructions());
+        CURRENT_CONTEXT.set(context);
+        try {
+            return simulation.apply(context);
+        } finally {
+            CURRENT_CONTEXT.remove();
+        }
+    }
+
+    /**
+     * Checks if the given method is currently called, i.e. if invoking it again would cause an infinite recursion.
+     *
+     * @param identifier The method identifier
+     * @return {@code true} if the method is called
+     */
+    boolean isCalled(final MethodIdentifier identifier) {
+        return calledMethods.contains(identifier);
+    }
+
+    /**
+     * Checks if another method can be simulated with respect to the maximum call depth and the maximum number of instructions.
+     *
+     * @return {@code true} if the method can be simulated
+     */
+    boolean canCall() {
+        return callDepth < maximumCallDepth && !isInstructionLimitExceeded();
+    }
+
+    /**
+     * Marks the given method as called.
+     *
+     * @param identifier The method identifier
+     */
+    void enterCall(final MethodIdentifier identifier) {
+        calledMethods.add(identifier);
+        callDepth++;
+    }
+
+    /**
+     * Marks the given method as returned.
+     *
+     * @param identifier The method identifier
+     */
+    void exitCall(final MethodIdentifier identifier) {
+        calledMethods.remove(identifier);
+        callDepth--;
+    }
+
+    /**
+     * Records a method invocation which has not been simulated (due to recursion or the simulation limits).
+     */
+    void abortCall() {
+        abortedCalls++;
+    }
+
+    /**
+     * Returns the number of method invocations which have not been simulated so far.
+     * The results of simulations which contain aborted calls depend on the calling methods.
+     *
+     * @return The number of aborted calls
+     */
+    int getAbortedCalls() {
+        return abortedCalls;
+    }
+
+    /**
+     * Counts a simulated instruction. The outermost method is always simulated completely.
+     *
+     * @return {@code true} if the simulation can be continued, {@code false} if the simulation of a nested method has to be stopped
+     */
+    boolean simulateInstruction() {
+        if (++simulatedInstructions == maximumInstructions + 1)
+            LogProvider.debug("Exceeded the maximum number of " + maximumInstructions + " simulated instructions, invoked project methods are not simulated further");
+
+        return callDepth == 0 || !isInstructionLimitExceeded();
+    }
+
+    /**
+     * Returns the number of instructions which have been simulated so far.
+     *
+     * @return The number of simulated instructions
+     */
+    int getSimulatedInstructions() {
+        return simulatedInstructions;
+    }
+
+    /**
+     * Checks if the maximum number of simulated instructions has been exceeded.
+     *
+     * @return {@code true} if the limit has been exceeded
+     */
+    boolean isInstructionLimitExceeded() {
+        return simulatedInstructions > maximumInstructions;
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.GetStaticInstruction;
+import javassist.ClassPool;
+import javassist.CtField;
+import javassist.Modifier;
+import javassist.NotFoundException;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of the values of static fields which are read by the simulated methods.
+ * The values are resolved without loading or initializing the classes of the analyzed project:
+ * constants are taken from the {@code ConstantValue} attribute of the class files and only the static final fields of the Java and Java EE API
+ * (e.g. {@code Response.Status} or {@code MediaType} constants) are read from the classes of the analyzer itself.
+ * The values of all other static fields are unknown.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class StaticFieldCache {
+
+    private static final String[] API_PACKAGE_PREFIXES = {"java.", "javax."};
+    private static final Object UNKNOWN_VALUE = new Object();
+    private static final Object NULL_VALUE = new Object();
+
+    private final ClassPool classPool;
+    private final Map<String, Object> values = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a cache which resolves the fields from the given class pool.
+     *
+     * @param classPool The class pool of the analysis
+     */
+    public StaticFieldCache(final ClassPool classPool) {
+        this.classPool = classPool;
+    }
+
+    /**
+     * Returns a new element which holds the value of the static field, if known.
+     *
+     * @param instruction The instruction which reads the field
+     * @return The element of the field
+     */
+    public Element get(final GetStaticInstruction instruction) {
+        final String className = instruction.getContainingClass().toString();
+        final String fieldName = instruction.getPropertyName();
+
+        Object value = values.get(className + '.' + fieldName);
+        if (value == null) {
+            value = resolveValue(className, fieldName);
+            values.putIfAbsent(className + '.' + fieldName, value);
+        }
+
+        if (value == UNKNOWN_VALUE)
+            return new Element(instruction.getPropertyType());
+        return new Element(instruction.getPropertyType(), value == NULL_VALUE ? null : value);
+    }
+
+    private Object resolveValue(final String className, final String fieldName) {
+        try {
+            final CtField field = classPool.get(className).getField(fieldName);
+            final Object constantValue = field.getConstantValue();
+            if (constantValue != null)
+                return convertConstant(constantValue, field.getFieldInfo2().getDescriptor());
+
+            final int modifiers = field.getModifiers();
+            final String declaringClassName = field.getDeclaringClass().getName();
+            if (Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers) && isApiClass(declaringClassName))
+                return readApiField(declaringClassName, fieldName);
+        } catch (NotFoundException e) {
+            LogProvider.debug("Could not find static field " + className + '.' + fieldName + ", reason: " + e.getMessage());
+        }
+        return UNKNOWN_VALUE;
+    }
+
+    /**
+     * Converts the value of a {@code ConstantValue} attribute, which stores {@code boolean} and all integral types smaller than {@code long} as {@code int}, to the field type.
+     *
+     * @param value      The constant value
+     * @param descriptor The descriptor of the field type
+     * @return The value of the field
+     */
+    private static Object convertConstant(final Object value, final String descriptor) {
+        if (!(value instanceof Integer))
+            return value;
+
+        switch (descriptor) {
+            case "Z":
+                return (Integer) value != 0;
+            case "C":
+                return (char) (int) (Integer) value;
+            case "S":
+                return (short) (int) (Integer) value;
+            case "B":
+                return (byte) (int) (Integer) value;
+            default:
+                return value;
+        }
+    }
+
+    private static boolean isApiClass(final String className) {
+        for (final String prefix : API_PACKAGE_PREFIXES)
+            if (className.startsWith(prefix))
+                return true;
+        return false;
+    }
+
+    private static Object readApiField(final String className, final String fieldName) {
+        try {
+            final Field field = Class.forName(className).getDeclaredField(fieldName);
+            field.setAccessible(true);
+            final Object value = field.get(null);
+            return value == null ? NULL_VALUE : value;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            LogProvider.debug("Could not access static field " + className + '.' + fieldName + ", reason: " + e.getMessage());
+            return UNKNOWN_VALUE;
+        }
+    }
+
+}
@@ -17,6 +17,7 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.project.classes;
 
 import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.project.AnnotationInterpreter;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.project.methods.MethodAnalyzer;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.utils.JavaUtils;
@@ -39,18 +40,23 @@ import java.util.stream.Stream;
  */
 public class ClassAnalyzer {
 
-    private static final Class<?>[] RELEVANT_CLASS_ANNOTATIONS = {ApplicationPath.class, Path.class};
+    static final Class<?>[] RELEVANT_CLASS_ANNOTATIONS = {ApplicationPath.class, Path.class};
 
     private final Lock lock = new ReentrantLock();
     private CtClass ctClass;
 
     /**
      * Analyzes the given class by searching for JAX-RS relevant information (in both the annotations and the byte code of methods).
+     * The class is analyzed in a new analysis context if no analysis is running.
      *
      * @param ctClass The class to analyze
      * @return The class result including the results for the methods or {@code null} if the class was not found or is not relevant
      */
     public ClassResult analyze(final CtClass ctClass) {
+        return AnalysisContext.executeInAnalysis(() -> analyzeClass(ctClass));
+    }
+
+    private ClassResult analyzeClass(final CtClass ctClass) {
         lock.lock();
         try {
             this.ctClass = ctClass;
@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.project.classes;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Scans the raw bytes of class files for JAX-RS class annotations or referenced classes without loading them into the class pool.
+ * Only the constant pool and the class annotations are read (JVMS 4.1).
+ *
+ * @author Sebastian Daschner
+ */
+public final class ClassFileScanner {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String ANNOTATIONS_ATTRIBUTE_NAME = "RuntimeVisibleAnnotations";
+    private static final Pattern TYPE_DESCRIPTOR_PATTERN = Pattern.compile("L([^;<]+)[;<]");
+
+    /**
+     * The type descriptors of the annotations which make a class relevant for {@link ClassAnalyzer}.
+     */
+    private static final Set<String> RELEVANT_DESCRIPTORS = Stream.of(ClassAnalyzer.RELEVANT_CLASS_ANNOTATIONS)
+            .map(c -> 'L' + c.getName().replace('.', '/') + ';').collect(Collectors.toSet());
+
+    private ClassFileScanner() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks if the given class file might be a JAX-RS application or root resource class.
+     * Classes which are not readable are considered to be potentially relevant.
+     *
+     * @param classFile The content of the class file
+     * @return {@code false} if the class is definitely not relevant for the analysis
+     */
+    public static boolean isPotentiallyRelevant(final InputStream classFile) {
+        try {
+            return scan(new DataInputStream(classFile));
+        } catch (IOException | RuntimeException e) {
+            // the class pool will decide later
+            return true;
+        }
+    }
+
+    /**
+     * Returns the names of all classes which might be referenced by the given class file,
+     * i.e. all class names and type descriptors (including generic signatures) in the constant pool.
+     * The result may contain names which do not belong to any class.
+     *
+     * @param classFile The content of the class file
+     * @return The fully-qualified names of the potentially referenced classes
+     * @throws IOException If the class file could not be read
+     */
+    public static Set<String> findReferencedClassNames(final InputStream classFile) throws IOException {
+        final DataInputStream input = new DataInputStream(classFile);
+        if (input.readInt() != MAGIC)
+            throw new IOException("Invalid class file");
+
+        // minor & major version
+        input.skipBytes(4);
+
+        final Set<String> classNames = new HashSet<>();
+        try {
+            for (final String constant : readUtf8Constants(input)) {
+                if (constant == null)
+                    continue;
+
+                classNames.add(constant.replace('/', '.'));
+                final Matcher matcher = TYPE_DESCRIPTOR_PATTERN.matcher(constant);
+                while (matcher.find())
+                    classNames.add(matcher.group(1).replace('/', '.'));
+            }
+        } catch (IllegalStateException e) {
+            throw new IOException("Invalid class file", e);
+        }
+
+        return classNames;
+    }
+
+    private static boolean scan(final DataInputStream input) throws IOException {
+        if (input.readInt() != MAGIC)
+            return true;
+
+        // minor & major version
+        input.skipBytes(4);
+
+        final String[] utf8Constants = readUtf8Constants(input);
+        if (Stream.of(utf8Constants).noneMatch(RELEVANT_DESCRIPTORS::contains))
+            return false;
+
+        // access flags, this & super class
+        input.skipBytes(6);
+        final int interfacesCount = input.readUnsignedShort();
+        input.skipBytes(2 * interfacesCount);
+
+        skipMembers(input);
+        skipMembers(input);
+
+        final int attributesCount = input.readUnsignedShort();
+        for (int i = 0; i < attributesCount; i++) {
+            final String name = utf8Constants[input.readUnsignedShort()];
+            final int length = input.readInt();
+
+            if (ANNOTATIONS_ATTRIBUTE_NAME.equals(name))
+                return containsRelevantAnnotation(input, utf8Constants);
+
+            input.skipBytes(length);
+        }
+
+        return false;
+    }
+
+    /**
+     * Reads the constant pool and returns the UTF-8 constants. Other constants are skipped.
+     *
+     * @param input The input, positioned at the constant pool count
+     * @return The UTF-8 constants, indexed by the constant pool index
+     */
+    private static String[] readUtf8Constants(final DataInputStream input) throws IOException {
+        final int constantPoolCount = input.readUnsignedShort();
+        final String[] constants = new String[constantPoolCount];
+
+        for (int i = 1; i < constantPoolCount; i++) {
+            final int tag = input.readUnsignedByte();
+            switch (tag) {
+                case 1:
+                    constants[i] = input.readUTF();
+                    break;
+                case 7:
+                case 8:
+                case 16:
+                case 19:
+                case 20:
+                    input.skipBytes(2);
+                    break;
+                case 15:
+                    input.skipBytes(3);
+                    break;
+                case 3:
+                case 4:
+                case 9:
+                case 10:
+                case 11:
+                case 12:
+                case 17:
+                case 18:
+                    input.skipBytes(4);
+                    break;
+                case 5:
+                case 6:
+                    // long & double constants take two entries
+                    input.skipBytes(8);
+                    i++;
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        return constants;
+    }
+
+    /**
+     * Skips the fields or methods of the class file.
+     *
+     * @param input The input, positioned at the fields / methods count
+     */
+    private static void skipMembers(final DataInputStream input) throws IOException {
+        final int membersCount = input.readUnsignedShort();
+        for (int i = 0; i < membersCount; i++) {
+            // access flags, name & descriptor
+            input.skipBytes(6);
+            final int attributesCount = input.readUnsignedShort();
+            for (int j = 0; j < attributesCount; j++) {
+                input.skipBytes(2);
+                input.skipBytes(input.readInt());
+            }
+        }
+    }
+
+    private static boolean containsRelevantAnnotation(final DataInputStream input, final String[] utf8Constants) throws IOException {
+        final int annotationsCount = input.readUnsignedShort();
+        for (int i = 0; i < annotationsCount; i++) {
+            if (RELEVANT_DESCRIPTORS.contains(utf8Constants[input.readUnsignedShort()]))
+                return true;
+            skipElementValuePairs(input);
+        }
+        return false;
+    }
+
+    private static void skipAnnotation(final DataInputStream input) throws IOException {
+        input.skipBytes(2);
+        skipElementValuePairs(input);
+    }
+
+    private static void skipElementValuePairs(final DataInputStream input) throws IOException {
+        final int pairsCount = input.readUnsignedShort();
+        for (int i = 0; i < pairsCount; i++) {
+            input.skipBytes(2);
+            skipElementValue(input);
+        }
+    }
+
+    private static void skipElementValue(final DataInputStream input) throws IOException {
+        final char tag = (char) input.readUnsignedByte();
+        switch (tag) {
+            case 'e':
+                input.skipBytes(4);
+                break;
+            case '@':
+                skipAnnotation(input);
+                break;
+            case '[':
+                final int valuesCount = input.readUnsignedShort();
+                for (int i = 0; i < valuesCount; i++)
+                    skipElementValue(input);
+                break;
+            default:
+                // constants & class values
+                input.skipBytes(2);
+        }
+    }
+
+}
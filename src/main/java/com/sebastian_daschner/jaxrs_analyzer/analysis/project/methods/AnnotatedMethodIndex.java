@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.project.methods;
+
+import javassist.CtClass;
+import javassist.CtMethod;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The methods of the classes of an analysis which have JAX-RS annotations, indexed by their signatures.
+ * The methods of a class are indexed on the first search in the class. The index is cached per analysis, as the Javassist methods belong to the class pool of the analysis.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class AnnotatedMethodIndex {
+
+    private final ConcurrentMap<String, Map<String, CtMethod>> annotatedMethods = new ConcurrentHashMap<>();
+
+    /**
+     * Finds the first method with a specific signature which has JAX-RS annotations in the given classes.
+     *
+     * @param classes   The classes to search
+     * @param signature The method signature (the Javassist signature is used)
+     * @return The first matching method or {@code null} if not found
+     */
+    public CtMethod findFirstMethod(final Collection<CtClass> classes, final String signature) {
+        for (final CtClass ctClass : classes) {
+            final CtMethod ctMethod = getAnnotatedMethods(ctClass).get(signature);
+            if (ctMethod != null)
+                return ctMethod;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the methods of the class (including the inherited methods) which have JAX-RS annotations, indexed by their signatures.
+     * The first method is taken for several methods with the same signature.
+     *
+     * @param ctClass The class
+     * @return The annotated methods
+     */
+    private Map<String, CtMethod> getAnnotatedMethods(final CtClass ctClass) {
+        return annotatedMethods.computeIfAbsent(ctClass.getName(), n -> {
+            final Map<String, CtMethod> methods = new HashMap<>();
+            for (final CtMethod ctMethod : ctClass.getMethods()) {
+                if (MethodAnalyzer.hasJaxRsAnnotations(ctMethod))
+                    methods.putIfAbsent(ctMethod.getSignature(), ctMethod);
+            }
+            return methods;
+        });
+    }
+
+}
@@ -17,6 +17,7 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.project.methods;
 
 import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.project.AnnotationInterpreter;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.utils.JavaUtils;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.HttpResponse;
@@ -26,7 +27,6 @@ import com.sebastian_daschner.jaxrs_analyzer.model.types.Type;
 import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
 import javassist.CtClass;
 import javassist.CtMethod;
-import javassist.NotFoundException;
 import javassist.bytecode.BadBytecode;
 
 import javax.json.JsonObject;
@@ -34,10 +34,7 @@ import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
 import java.lang.reflect.Modifier;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.*;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Stream;
@@ -56,16 +53,20 @@ public class MethodAnalyzer {
     private final Lock lock = new ReentrantLock();
     private final ResourceMethodContentAnalyzer resourceMethodAnalyzer = new ResourceMethodContentAnalyzer();
     private final SubResourceLocatorMethodContentAnalyzer subResourceLocatorMethodAnalyzer = new SubResourceLocatorMethodContentAnalyzer();
-    private List<CtClass> superClasses;
     private CtMethod annotatedSuperMethod;
     private CtMethod method;
 
     /**
      * Analyzes the given method by searching for JAX-RS relevant information.
+     * The method is analyzed in a new analysis context if no analysis is running.
      *
      * @return The method result or {@code null} if the method is not relevant or could not be analyzed
      */
     public MethodResult analyze(final CtMethod ctMethod) {
+        return AnalysisContext.executeInAnalysis(() -> analyzeMethod(ctMethod));
+    }
+
+    private MethodResult analyzeMethod(final CtMethod ctMethod) {
         lock.lock();
         try {
             this.method = ctMethod;
@@ -87,36 +88,12 @@ public class MethodAnalyzer {
 
     /**
      * Determines a potential super method which is annotated with JAX-RS annotations.
+     * The super declarations and their annotated methods are cached by the current analysis.
      */
     private void determineAnnotatedSuperMethod() {
-        superClasses = new LinkedList<>();
-        try {
-            determineSuperDeclarations();
-        } catch (NotFoundException e) {
-            LogProvider.error("Could not determine super classes");
-            LogProvider.debug(e);
-            // ignore
-        }
-        annotatedSuperMethod = MethodFinder.findFirstMethod(superClasses, method.getSignature(), MethodAnalyzer::hasJaxRsAnnotations);
-    }
-
-    /**
-     * Determines all super classes and interfaces of the enclosing class recursively (exclusive the contained class itself and {@link java.lang.Object}).
-     */
-    private void determineSuperDeclarations() throws NotFoundException {
-        CtClass ctClass = method.getDeclaringClass();
-        final Queue<CtClass> classesToCheck = new LinkedBlockingQueue<>();
-
-        do {
-            if (ctClass.getSuperclass() != null && !Object.class.getName().equals(ctClass.getSuperclass().getName()))
-                classesToCheck.add(ctClass.getSuperclass());
-
-            Stream.of(ctClass.getInterfaces()).forEach(classesToCheck::add);
-
-            if (!method.getDeclaringClass().equals(ctClass))
-                superClasses.add(ctClass);
-
-        } while ((ctClass = classesToCheck.poll()) != null);
+        final AnalysisContext context = AnalysisContext.current();
+        final List<CtClass> superClasses = context.getTypeHierarchy().getSuperDeclarations(method.getDeclaringClass());
+        annotatedSuperMethod = context.getAnnotatedMethodIndex().findFirstMethod(superClasses, method.getSignature());
     }
 
     /**
@@ -257,7 +234,7 @@ public class MethodAnalyzer {
      *
      * @return {@code true} if the method has relevant annotations
      */
-    private static boolean hasJaxRsAnnotations(final CtMethod ctMethod) {
+    static boolean hasJaxRsAnnotations(final CtMethod ctMethod) {
         for (final Object annotation : ctMethod.getAvailableAnnotations()) {
             if (Stream.of(RELEVANT_METHOD_ANNOTATIONS).anyMatch(c -> c.isAssignableFrom(annotation.getClass())))
                 return true;
@@ -17,8 +17,10 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.project.methods;
 
 import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.collection.ByteCodeCollector;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.reduction.RelevantInstructionReducer;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodPool;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.utils.JavaUtils;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.InvokeInstruction;
@@ -28,10 +30,7 @@ import javassist.CtBehavior;
 import javassist.CtMethod;
 import javassist.Modifier;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.*;
 
 /**
  * Analyzes the content of a method. Sub classes have to be thread-safe.
@@ -44,19 +43,27 @@ abstract class MethodContentAnalyzer {
      * The number of package hierarchies which are taken to identify project resources.
      */
     private static final int PROJECT_PACKAGE_HIERARCHIES = 2;
-    private final ByteCodeCollector byteCodeCollector = new ByteCodeCollector();
+
+    /**
+     * The byte code collectors are reused by all analyzers of a thread.
+     */
+    private static final ThreadLocal<ByteCodeCollector> BYTE_CODE_COLLECTORS = ThreadLocal.withInitial(ByteCodeCollector::new);
+
     private final RelevantInstructionReducer instructionReducer = new RelevantInstructionReducer();
     protected String projectPackagePrefix;
 
     /**
      * Interprets the relevant instructions for the given method.
+     * The instructions are shared via the instruction cache of the current analysis, as a method is possibly reached from several resource methods.
      *
      * @param method The method to interpret
      * @return The instructions
      */
     protected List<Instruction> interpretRelevantInstructions(final CtBehavior method) {
-        final List<Instruction> allInstructions = byteCodeCollector.buildInstructions(method);
-        return instructionReducer.reduceInstructions(allInstructions);
+        return AnalysisContext.current().getInstructionCache().get(method, () -> {
+            final List<Instruction> allInstructions = BYTE_CODE_COLLECTORS.get().buildInstructions(method);
+            return instructionReducer.reduceInstructions(allInstructions);
+        });
     }
 
     /**
@@ -77,58 +84,63 @@ abstract class MethodContentAnalyzer {
     }
 
     /**
-     * Searches for own project method invoke instructions in the given list.
+     * Searches for own project method invoke instructions in the given list, including the project methods which are invoked transitively.
+     * Project methods which are already contained in the method pool of the current analysis are not searched again.
      *
      * @param instructions The instructions where to search
-     * @return The found project methods
+     * @return The newly found project methods
      */
     protected Set<ProjectMethod> findProjectMethods(final List<Instruction> instructions) {
+        final MethodPool methodPool = MethodPool.getInstance();
+        final Set<MethodIdentifier> discoveredMethods = new HashSet<>();
         final Set<ProjectMethod> projectMethods = new HashSet<>();
-
-        addProjectMethods(instructions, projectMethods);
+        final Deque<List<Instruction>> unhandledInstructions = new ArrayDeque<>();
+        unhandledInstructions.push(instructions);
+
+        while (!unhandledInstructions.isEmpty()) {
+            for (final MethodIdentifier identifier : findUndiscoveredProjectMethodIdentifiers(unhandledInstructions.pop(), methodPool, discoveredMethods)) {
+                final CtBehavior method = JavaUtils.getMethod(identifier);
+                if (method == null) {
+                    LogProvider.error("Could not find project method: " + identifier);
+                    continue;
+                }
+
+                final int modifiers = method.getModifiers();
+                if (Modifier.isNative(modifiers) || Modifier.isAbstract(modifiers))
+                    continue;
+
+                final List<Instruction> nestedMethodInstructions = interpretRelevantInstructions(method);
+                projectMethods.add(new ProjectMethod(identifier, nestedMethodInstructions));
+                unhandledInstructions.push(nestedMethodInstructions);
+            }
+        }
 
         return projectMethods;
     }
 
     /**
-     * Adds all project methods called in the given {@code instructions} to the {@code projectMethods} recursively.
+     * Returns project method identifiers of invoke instructions which have not been discovered before and marks them as discovered.
      *
-     * @param instructions   The instructions of the current method
-     * @param projectMethods All found project methods
+     * @param instructions      The instructions of the current method
+     * @param methodPool        The method pool of the current analysis, which contains the previously found project methods
+     * @param discoveredMethods The methods which have been discovered in the current search
+     * @return The new method identifiers of undiscovered project method invoke instructions
      */
-    private void addProjectMethods(final List<Instruction> instructions, final Set<ProjectMethod> projectMethods) {
-        Set<MethodIdentifier> projectMethodIdentifiers = findUnhandledProjectMethodIdentifiers(instructions, projectMethods);
+    private List<MethodIdentifier> findUndiscoveredProjectMethodIdentifiers(final List<Instruction> instructions, final MethodPool methodPool,
+                                                                            final Set<MethodIdentifier> discoveredMethods) {
+        final List<MethodIdentifier> identifiers = new LinkedList<>();
 
-        for (MethodIdentifier identifier : projectMethodIdentifiers) {
-            final CtBehavior method = JavaUtils.getMethod(identifier);
-            if (method == null) {
-                LogProvider.error("Could not find project method: " + identifier);
-                continue;
-            }
-
-            final int modifiers = method.getModifiers();
-            if (Modifier.isNative(modifiers) || Modifier.isAbstract(modifiers))
+        for (final Instruction instruction : instructions) {
+            if (instruction.getType() != Instruction.InstructionType.INVOKE && instruction.getType() != Instruction.InstructionType.METHOD_HANDLE)
                 continue;
 
-            final List<Instruction> nestedMethodInstructions = interpretRelevantInstructions(method);
-            projectMethods.add(new ProjectMethod(identifier, nestedMethodInstructions));
-            addProjectMethods(nestedMethodInstructions, projectMethods);
+            final InvokeInstruction invokeInstruction = (InvokeInstruction) instruction;
+            final MethodIdentifier identifier = invokeInstruction.getIdentifier();
+            if (isProjectMethod(invokeInstruction) && !methodPool.contains(identifier) && discoveredMethods.add(identifier))
+                identifiers.add(identifier);
         }
-    }
 
-    /**
-     * Returns project method identifiers of invoke instructions which are not included in the {@code projectMethods}.
-     *
-     * @param instructions   The instructions of the current method
-     * @param projectMethods All found project methods
-     * @return The new method identifiers of unhandled project method invoke instructions
-     */
-    private Set<MethodIdentifier> findUnhandledProjectMethodIdentifiers(final List<Instruction> instructions, final Set<ProjectMethod> projectMethods) {
-        // find own methods
-        return instructions.stream().filter(i -> i.getType() == Instruction.InstructionType.INVOKE || i.getType() == Instruction.InstructionType.METHOD_HANDLE)
-                .map(i -> (InvokeInstruction) i).filter(this::isProjectMethod).map(InvokeInstruction::getIdentifier)
-                .filter(i -> projectMethods.stream().noneMatch(m -> m.matches(i)))
-                .collect(Collectors.toSet());
+        return identifiers;
     }
 
     /**
@@ -17,6 +17,7 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.project.methods;
 
 import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodPool;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodSimulator;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.utils.JavaUtils;
@@ -48,11 +49,19 @@ class ResourceMethodContentAnalyzer extends MethodContentAnalyzer {
 
     /**
      * Analyzes the method (including own project methods).
+     * The method is analyzed in a new analysis context if no analysis is running, thus the project methods are not kept afterwards.
      *
      * @param method The method to analyze
      * @param result The result
      */
     void analyze(final CtMethod method, final MethodResult result) {
+        AnalysisContext.executeInAnalysis(() -> {
+            analyzeMethod(method, result);
+            return null;
+        });
+    }
+
+    private void analyzeMethod(final CtMethod method, final MethodResult result) {
         lock.lock();
         try {
             buildPackagePrefix(method);
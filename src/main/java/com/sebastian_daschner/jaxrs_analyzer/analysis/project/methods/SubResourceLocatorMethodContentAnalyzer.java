@@ -17,6 +17,7 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.project.methods;
 
 import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodPool;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodSimulator;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.project.classes.ClassAnalyzer;
@@ -46,10 +47,19 @@ class SubResourceLocatorMethodContentAnalyzer extends MethodContentAnalyzer {
     /**
      * Analyzes the sub-resource-locator method as a class result (which will be the content of a method result).
      *
+     * The method is analyzed in a new analysis context if no analysis is running, thus the project methods are not kept afterwards.
+     *
      * @param method      The method
      * @param classResult The class result
      */
     void analyze(final CtMethod method, final ClassResult classResult) {
+        AnalysisContext.executeInAnalysis(() -> {
+            analyzeMethod(method, classResult);
+            return null;
+        });
+    }
+
+    private void analyzeMethod(final CtMethod method, final ClassResult classResult) {
         lock.lock();
         try {
             buildPackagePrefix(method);
@@ -17,11 +17,11 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.utils;
 
 import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.types.Type;
 import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
 import javassist.CtBehavior;
-import javassist.CtClass;
 import javassist.CtField;
 import javassist.CtMember;
 import javassist.bytecode.AccessFlag;
@@ -141,30 +141,14 @@ public final class JavaUtils {
 
     /**
      * Returns the method (Javassist {@link CtBehavior}) for the given method or constructor identifier.
+     * The methods are looked up in the method index of the current analysis.
      *
      * @param identifier The method identifier
      * @return The Javassist behavior or {@code null} if not found
      */
     public static CtBehavior getMethod(final MethodIdentifier identifier) {
-        final CtClass ctClass = identifier.getContainingClass().getCtClass();
-
         // raw parameter types are taken because of type erasure in bytecode method call
-        if (JavaUtils.isInitializerName(identifier.getMethodName())) {
-            return Stream.of(ctClass.getDeclaredConstructors()).filter(b -> identifier.getParameters().equals(getRawParameterTypes(b))).findAny().orElse(null);
-        }
-
-        return Stream.concat(Stream.of(ctClass.getDeclaredMethods()), Stream.of(ctClass.getMethods()))
-                .filter(b -> identifier.getMethodName().equals(b.getName()))
-                .filter(b -> identifier.getParameters().equals(getRawParameterTypes(b))).findAny().orElse(null);
-    }
-
-    private static List<Type> getRawParameterTypes(final CtBehavior behavior) {
-        try {
-            return Stream.of(SignatureAttribute.toMethodSignature(behavior.getSignature()).getParameterTypes()).map(Type::new).collect(Collectors.toList());
-        } catch (BadBytecode e) {
-            // ignore
-            return Collections.emptyList();
-        }
+        return AnalysisContext.current().getMethodIndex().get(identifier);
     }
 
     /**
@@ -179,7 +163,7 @@ public final class JavaUtils {
                     SignatureAttribute.toClassSignature(behavior.getDeclaringClass().getGenericSignature());
             final SignatureAttribute.MethodSignature methodSig = SignatureAttribute.toMethodSignature(behavior.getGenericSignature() == null ? behavior.getSignature() : behavior.getGenericSignature());
 
-            return Stream.of(methodSig.getParameterTypes()).map(t -> new Type(t, classSig, null, methodSig)).collect(Collectors.toList());
+            return Stream.of(methodSig.getParameterTypes()).map(t -> Type.of(t, classSig, null, methodSig)).collect(Collectors.toList());
         } catch (BadBytecode e) {
             // ignore
             return Collections.emptyList();
@@ -197,7 +181,7 @@ public final class JavaUtils {
             final String sig = field.getGenericSignature() == null ? field.getSignature() : field.getGenericSignature();
             final SignatureAttribute.ClassSignature genericClassSignature = field.getDeclaringClass().getGenericSignature() == null ? null :
                     SignatureAttribute.toClassSignature(field.getDeclaringClass().getGenericSignature());
-            return new Type(SignatureAttribute.toTypeSignature(sig), genericClassSignature, containingType, null);
+            return Type.of(SignatureAttribute.toTypeSignature(sig), genericClassSignature, containingType, null);
         } catch (BadBytecode e) {
             // ignore
             LogProvider.error("Could not analyze field: " + field);
@@ -219,7 +203,7 @@ public final class JavaUtils {
             final SignatureAttribute.ClassSignature genericClassSignature = behavior.getDeclaringClass().getGenericSignature() == null ? null :
                     SignatureAttribute.toClassSignature(behavior.getDeclaringClass().getGenericSignature());
 
-            return new Type(methodSig.getReturnType(), genericClassSignature, containingType, methodSig);
+            return Type.of(methodSig.getReturnType(), genericClassSignature, containingType, methodSig);
         } catch (BadBytecode e) {
             // ignore
             LogProvider.error("Could not analyze method: " + behavior);
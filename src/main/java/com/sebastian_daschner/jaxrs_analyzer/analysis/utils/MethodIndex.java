@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.utils;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Type;
+import javassist.CtBehavior;
+import javassist.CtClass;
+import javassist.bytecode.BadBytecode;
+import javassist.bytecode.SignatureAttribute;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The methods and constructors of the classes of an analysis, indexed by their names and raw parameter types.
+ * The index of a class is built once on the first lookup, thus finding a method of a known class is a single lookup.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class MethodIndex {
+
+    private final ConcurrentMap<String, Map<Signature, CtBehavior>> classIndexes = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the method (Javassist {@link CtBehavior}) for the given method or constructor identifier.
+     * Methods which are declared in the class take precedence over inherited public methods.
+     *
+     * @param identifier The method identifier
+     * @return The Javassist behavior or {@code null} if not found
+     */
+    public CtBehavior get(final MethodIdentifier identifier) {
+        final CtClass ctClass = identifier.getContainingClass().getCtClass();
+        return classIndexes.computeIfAbsent(ctClass.getName(), n -> buildIndex(ctClass))
+                .get(new Signature(identifier.getMethodName(), identifier.getParameters()));
+    }
+
+    private static Map<Signature, CtBehavior> buildIndex(final CtClass ctClass) {
+        final Map<Signature, CtBehavior> index = new HashMap<>();
+
+        for (final CtBehavior constructor : ctClass.getDeclaredConstructors())
+            index.putIfAbsent(new Signature(JavaUtils.INITIALIZER_NAME, getRawParameterTypes(constructor)), constructor);
+
+        for (final CtBehavior method : ctClass.getDeclaredMethods())
+            index.putIfAbsent(new Signature(method.getName(), getRawParameterTypes(method)), method);
+
+        for (final CtBehavior method : ctClass.getMethods())
+            index.putIfAbsent(new Signature(method.getName(), getRawParameterTypes(method)), method);
+
+        return index;
+    }
+
+    private static List<Type> getRawParameterTypes(final CtBehavior behavior) {
+        try {
+            final SignatureAttribute.Type[] parameterTypes = SignatureAttribute.toMethodSignature(behavior.getSignature()).getParameterTypes();
+            final List<Type> types = new ArrayList<>(parameterTypes.length);
+            for (final SignatureAttribute.Type parameterType : parameterTypes)
+                types.add(Type.of(parameterType));
+            return types;
+        } catch (BadBytecode e) {
+            // ignore
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * The name and the raw parameter types of a method. Constructors are identified by the initializer name.
+     */
+    private static class Signature {
+
+        private final String name;
+        private final List<Type> parameterTypes;
+
+        private Signature(final String name, final List<Type> parameterTypes) {
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            final Signature signature = (Signature) o;
+
+            return name.equals(signature.name) && parameterTypes.equals(signature.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + parameterTypes.hashCode();
+        }
+    }
+
+}
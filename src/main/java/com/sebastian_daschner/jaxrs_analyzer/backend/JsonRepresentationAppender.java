@@ -34,6 +34,9 @@ public class JsonRepresentationAppender implements TypeRepresentationVisitor {
     public void visit(TypeRepresentation.ConcreteTypeRepresentation representation) {
         if (representation.getProperties().isEmpty())
             builder.append(toPrimitiveType(representation.getIdentifier()));
+        else if (visitedTypes.contains(representation.getIdentifier()))
+            // prevent infinite loop from types which are recursively nested in collections
+            builder.append("{}");
         else {
             builder.append('{');
             visitedTypes.add(representation.getIdentifier());
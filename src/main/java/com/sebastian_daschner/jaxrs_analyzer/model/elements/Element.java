@@ -16,9 +16,13 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.model.elements;
 
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
 import com.sebastian_daschner.jaxrs_analyzer.model.types.Type;
 
+import java.io.Serializable;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
@@ -26,53 +30,207 @@ import java.util.Set;
 
 /**
  * Represents an element on the runtime stack.
+ * The types and possible values are copied on write. Elements with a single type or without values share immutable sets until they are modified,
+ * therefore creating, copying and merging elements which do not change is cheap. Reading an element never modifies it.
+ * If merging exceeds the maximum number of possible values of the current analysis, the element is widened, i.e. it only keeps its types
+ * and ignores the values of further merges.
  *
  * @author Sebastian Daschner
  */
-public class Element {
+public class Element implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
      * Unmodifiable placeholder for an empty element.
      */
     public static final Element EMPTY = new UnmodifiableElement(Types.OBJECT);
 
-    private final Set<Object> possibleValues;
-    private final Set<Type> types;
+    // the sets are only modified if they are owned by this element, sets which are not owned are immutable and copied first
+    private Set<Object> possibleValues;
+    private Set<Type> types;
+    private boolean possibleValuesOwned;
+    private boolean typesOwned;
+    private boolean widened;
 
     public Element(final Type type, final Object... values) {
-        this(Collections.singleton(type), values);
+        types = Collections.singleton(type);
+        initPossibleValues(values);
     }
 
     public Element(final Set<Type> types, final Object... values) {
         Objects.requireNonNull(types);
 
         this.types = new HashSet<>(types);
-        possibleValues = new HashSet<>();
+        typesOwned = true;
+        initPossibleValues(values);
+    }
 
+    /**
+     * Creates a copy of the given element. Immutable sets of the given element are shared, the given element is not modified.
+     *
+     * @param element The element to copy
+     */
+    public Element(final Element element) {
+        typesOwned = element.typesOwned;
+        types = typesOwned ? new HashSet<>(element.types) : element.types;
+        possibleValuesOwned = element.possibleValuesOwned;
+        possibleValues = possibleValuesOwned ? new HashSet<>(element.possibleValues) : element.possibleValues;
+        widened = element.widened;
+    }
+
+    private void initPossibleValues(final Object[] values) {
         // allow null as vararg argument
-        if (values == null)
+        if (values == null) {
+            possibleValues = new HashSet<>();
             possibleValues.add(null);
-        else
+            possibleValuesOwned = true;
+        } else if (values.length == 0) {
+            possibleValues = Collections.emptySet();
+        } else {
+            possibleValues = new HashSet<>();
             Collections.addAll(possibleValues, values);
+            possibleValuesOwned = true;
+        }
     }
 
     /**
      * Merges the other element into this element.
+     * The sets of this element are only copied if the other element contains new types or values.
+     * The element is widened if the other element is widened or if the merged values exceed the maximum number of possible values.
      *
      * @param element The element to merge
      * @return This element (needed as BinaryOperator)
      */
     public Element merge(final Element element) {
-        types.addAll(element.types);
-        possibleValues.addAll(element.possibleValues);
+        mergeTypes(element.types);
+
+        if (element.widened)
+            widen();
+        else
+            mergePossibleValues(element.possibleValues);
         return this;
     }
 
+    /**
+     * Adds the type to this element.
+     *
+     * @param type The type to add
+     */
+    public void addType(final Type type) {
+        if (!types.contains(type))
+            ownTypes().add(type);
+    }
+
+    /**
+     * Adds the types to this element.
+     *
+     * @param types The types to add
+     */
+    public void addTypes(final Collection<Type> types) {
+        mergeTypes(types);
+    }
+
+    /**
+     * Adds the possible value to this element. The value is ignored if the element is widened.
+     *
+     * @param value The value to add
+     */
+    public void addPossibleValue(final Object value) {
+        addPossibleValues(Collections.singleton(value));
+    }
+
+    /**
+     * Adds the possible values to this element. The values are ignored if the element is widened.
+     * The element is widened if the values exceed the maximum number of possible values.
+     *
+     * @param values The values to add
+     */
+    public void addPossibleValues(final Collection<?> values) {
+        mergePossibleValues(values);
+    }
+
+    private void mergeTypes(final Collection<Type> types) {
+        if (this.types != types && !this.types.containsAll(types))
+            ownTypes().addAll(types);
+    }
+
+    private void mergePossibleValues(final Collection<?> values) {
+        if (widened || possibleValues == values || possibleValues.containsAll(values))
+            return;
+
+        ownPossibleValues().addAll(values);
+
+        final int maximumPossibleValues = AnalysisContext.current().getMaximumPossibleValues();
+        if (possibleValues.size() > maximumPossibleValues) {
+            LogProvider.debug("Widened element of types " + types + " which exceeded " + maximumPossibleValues + " possible values");
+            widen();
+        }
+    }
+
+    /**
+     * Checks if this element contains all types and possible values of the other element, i.e. if merging the other element would not change this element.
+     *
+     * @param element The other element
+     * @return {@code true} if the other element is included
+     */
+    public boolean includes(final Element element) {
+        if (types != element.types && !types.containsAll(element.types))
+            return false;
+        if (widened)
+            return true;
+        return !element.widened && (possibleValues == element.possibleValues || possibleValues.containsAll(element.possibleValues));
+    }
+
+    /**
+     * Drops the possible values, further merged values are ignored.
+     */
+    private void widen() {
+        possibleValues = Collections.emptySet();
+        possibleValuesOwned = false;
+        widened = true;
+    }
+
+    /**
+     * Returns whether this element has been widened to its types only, i.e. the possible values are unknown.
+     *
+     * @return {@code true} if the element is widened
+     */
+    public boolean isWidened() {
+        return widened;
+    }
+
+    /**
+     * Returns an unmodifiable view of the possible values.
+     *
+     * @return The possible values
+     */
     public Set<Object> getPossibleValues() {
-        return possibleValues;
+        return Collections.unmodifiableSet(possibleValues);
     }
 
+    /**
+     * Returns an unmodifiable view of the types.
+     *
+     * @return The types
+     */
     public Set<Type> getTypes() {
+        return Collections.unmodifiableSet(types);
+    }
+
+    private Set<Object> ownPossibleValues() {
+        if (!possibleValuesOwned) {
+            possibleValues = new HashSet<>(possibleValues);
+            possibleValuesOwned = true;
+        }
+        return possibleValues;
+    }
+
+    private Set<Type> ownTypes() {
+        if (!typesOwned) {
+            types = new HashSet<>(types);
+            typesOwned = true;
+        }
         return types;
     }
 
@@ -83,6 +241,7 @@ public class Element {
 
         final Element element = (Element) o;
 
+        if (widened != element.widened) return false;
         if (!possibleValues.equals(element.possibleValues)) return false;
         return types.equals(element.types);
     }
@@ -107,18 +266,29 @@ public class Element {
      */
     private static class UnmodifiableElement extends Element {
 
+        private static final long serialVersionUID = 1L;
+
         public UnmodifiableElement(final Type type) {
             super(type);
         }
 
         @Override
-        public Set<Object> getPossibleValues() {
-            return Collections.unmodifiableSet(super.getPossibleValues());
+        public void addType(final Type type) {
+            throw new UnsupportedOperationException();
         }
 
         @Override
-        public Set<Type> getTypes() {
-            return Collections.unmodifiableSet(super.getTypes());
+        public void addTypes(final Collection<Type> types) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void addPossibleValues(final Collection<?> values) {
+            throw new UnsupportedOperationException();
+        }
+
+        private Object readResolve() {
+            return EMPTY;
         }
     }
 
@@ -18,13 +18,16 @@ package com.sebastian_daschner.jaxrs_analyzer.model.elements;
 
 import com.sebastian_daschner.jaxrs_analyzer.model.types.Type;
 
+import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
 
 /**
  * @author Sebastian Daschner
  */
-public class HttpResponse {
+public class HttpResponse implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final Set<Integer> statuses = new HashSet<>();
     private final Set<String> headers = new HashSet<>();
@@ -26,6 +26,8 @@ import java.util.List;
  */
 public class JsonArray implements JsonValue {
 
+    private static final long serialVersionUID = 1L;
+
     private final List<Element> elements = new LinkedList<>();
 
     @Override
@@ -26,6 +26,8 @@ import java.util.Map;
  */
 public class JsonObject implements JsonValue {
 
+    private static final long serialVersionUID = 1L;
+
     private final Map<String, Element> structure = new HashMap<>();
 
     @Override
@@ -16,12 +16,14 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.model.elements;
 
+import java.io.Serializable;
+
 /**
  * Marker interface for JSON value elements.
  *
  * @author Sebastian Daschner
  */
-public interface JsonValue {
+public interface JsonValue extends Serializable {
 
     /**
      * Merges the given value to this object.
@@ -35,6 +35,8 @@ import java.util.stream.Stream;
  */
 public class MethodHandle extends Element implements Method {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * The possible identifier of the method which are encapsulated.
      */
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.model.instructions;
+
+import java.util.Arrays;
+
+/**
+ * Represents a branch instruction (conditional jumps, gotos and switches).
+ * The targets are the positions of the jumped-to instructions in the instruction list of the method.
+ *
+ * @author Sebastian Daschner
+ */
+public class BranchInstruction extends SizeChangingInstruction {
+
+    private final int[] targets;
+    private final boolean conditional;
+
+    /**
+     * Creates a branch instruction.
+     *
+     * @param description  The mnemonic
+     * @param numberOfPops The number of popped elements
+     * @param targets      The positions of the jumped-to instructions
+     * @param conditional  {@code true} if the execution possibly continues with the next instruction
+     */
+    public BranchInstruction(final String description, final int numberOfPops, final int[] targets, final boolean conditional) {
+        super(description, 0, numberOfPops);
+        this.targets = targets;
+        this.conditional = conditional;
+    }
+
+    /**
+     * Returns a copy of this instruction which jumps to the given positions.
+     *
+     * @param targets The new positions of the jumped-to instructions
+     * @return The moved instruction
+     */
+    public BranchInstruction withTargets(final int[] targets) {
+        return new BranchInstruction(getDescription(), getNumberOfPops(), targets, conditional);
+    }
+
+    public int[] getTargets() {
+        return targets;
+    }
+
+    public boolean isConditional() {
+        return conditional;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!super.equals(o)) return false;
+
+        final BranchInstruction that = (BranchInstruction) o;
+
+        return conditional == that.conditional && Arrays.equals(targets, that.targets);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + Arrays.hashCode(targets);
+        result = 31 * result + (conditional ? 1 : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BranchInstruction{" +
+                "description='" + getDescription() + '\'' +
+                ", targets=" + Arrays.toString(targets) +
+                ", conditional=" + conditional +
+                '}';
+    }
+
+}
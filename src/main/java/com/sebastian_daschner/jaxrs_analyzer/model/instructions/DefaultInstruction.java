@@ -30,6 +30,10 @@ public class DefaultInstruction implements Instruction {
         this.description = description;
     }
 
+    public String getDescription() {
+        return description;
+    }
+
     @Override
     public InstructionType getType() {
         return InstructionType.OTHER;
@@ -23,6 +23,13 @@ package com.sebastian_daschner.jaxrs_analyzer.model.methods;
  */
 public interface IdentifiableMethod extends Method {
 
+    /**
+     * Returns the signature of this method.
+     *
+     * @return The method signature
+     */
+    MethodIdentifier getIdentifier();
+
     /**
      * Checks if the given signature matches this method.
      *
@@ -18,13 +18,14 @@ package com.sebastian_daschner.jaxrs_analyzer.model.methods;
 
 import com.sebastian_daschner.jaxrs_analyzer.model.types.Type;
 
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Stream;
 
 /**
  * The method type signature with which a method can be identified.
+ * Identifiers are immutable and compute their hash code once, as they are looked up in the method pool for every simulated invocation.
  *
  * @author Sebastian Daschner
  */
@@ -35,6 +36,7 @@ public class MethodIdentifier {
     private final Type returnType;
     private final boolean staticMethod;
     private final List<Type> parameters;
+    private final int hashCode;
 
     private MethodIdentifier(final Type containingClass, final String methodName, final Type returnType, final boolean staticMethod,
                              final List<Type> parameters) {
@@ -50,6 +52,7 @@ public class MethodIdentifier {
         this.returnType = returnType;
         this.staticMethod = staticMethod;
         this.parameters = parameters;
+        this.hashCode = hashCode(containingClass, methodName, returnType, staticMethod, parameters);
     }
 
     public Type getContainingClass() {
@@ -79,6 +82,7 @@ public class MethodIdentifier {
 
         final MethodIdentifier that = (MethodIdentifier) o;
 
+        if (hashCode != that.hashCode) return false;
         if (staticMethod != that.staticMethod) return false;
         if (!containingClass.equals(that.containingClass)) return false;
         if (!methodName.equals(that.methodName)) return false;
@@ -88,6 +92,11 @@ public class MethodIdentifier {
 
     @Override
     public int hashCode() {
+        return hashCode;
+    }
+
+    private static int hashCode(final Type containingClass, final String methodName, final Type returnType, final boolean staticMethod,
+                                final List<Type> parameters) {
         int result = containingClass.hashCode();
         result = 31 * result + methodName.hashCode();
         result = 31 * result + returnType.hashCode();
@@ -119,10 +128,7 @@ public class MethodIdentifier {
      */
     public static MethodIdentifier of(final Type containingClass, final String methodName, final Type returnType,
                                       final boolean staticMethod, final Type... parameterTypes) {
-        final List<Type> parameters = new LinkedList<>();
-        if (parameterTypes != null && parameterTypes.length > 0)
-            Stream.of(parameterTypes).forEach(parameters::add);
-        return new MethodIdentifier(containingClass, methodName, returnType, staticMethod, parameters);
+        return new MethodIdentifier(containingClass, methodName, returnType, staticMethod, toList(parameterTypes));
     }
 
     /**
@@ -135,10 +141,7 @@ public class MethodIdentifier {
      * @return The method identifier
      */
     public static MethodIdentifier ofNonStatic(final Type containingClass, final String methodName, final Type returnType, final Type... parameterTypes) {
-        final List<Type> parameters = new LinkedList<>();
-        if (parameterTypes != null && parameterTypes.length > 0)
-            Stream.of(parameterTypes).forEach(parameters::add);
-        return new MethodIdentifier(containingClass, methodName, returnType, false, parameters);
+        return new MethodIdentifier(containingClass, methodName, returnType, false, toList(parameterTypes));
     }
 
     /**
@@ -151,10 +154,13 @@ public class MethodIdentifier {
      * @return The method identifier
      */
     public static MethodIdentifier ofStatic(final Type containingClass, final String methodName, final Type returnType, final Type... parameterTypes) {
-        final List<Type> parameters = new LinkedList<>();
-        if (parameterTypes != null && parameterTypes.length > 0)
-            Stream.of(parameterTypes).forEach(parameters::add);
-        return new MethodIdentifier(containingClass, methodName, returnType, true, parameters);
+        return new MethodIdentifier(containingClass, methodName, returnType, true, toList(parameterTypes));
+    }
+
+    private static List<Type> toList(final Type... parameterTypes) {
+        if (parameterTypes == null || parameterTypes.length == 0)
+            return Collections.emptyList();
+        return Collections.unmodifiableList(Arrays.asList(parameterTypes.clone()));
     }
 
 }
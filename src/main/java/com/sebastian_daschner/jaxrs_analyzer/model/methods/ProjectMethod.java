@@ -37,6 +37,11 @@ public class ProjectMethod implements IdentifiableMethod {
         this.instructions = instructions;
     }
 
+    @Override
+    public MethodIdentifier getIdentifier() {
+        return identifier;
+    }
+
     @Override
     public boolean matches(final MethodIdentifier identifier) {
         return this.identifier.equals(identifier);
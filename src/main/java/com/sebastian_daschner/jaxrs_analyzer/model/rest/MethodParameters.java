@@ -18,6 +18,7 @@ package com.sebastian_daschner.jaxrs_analyzer.model.rest;
 
 import com.sebastian_daschner.jaxrs_analyzer.model.types.Type;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -26,7 +27,9 @@ import java.util.Map;
  *
  * @author Sebastian Daschner
  */
-public class MethodParameters {
+public class MethodParameters implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /*
      * The params contain the parameter names -> Java types
@@ -16,6 +16,7 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.model.results;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -25,7 +26,9 @@ import java.util.Set;
  *
  * @author Sebastian Daschner
  */
-public class ClassResult {
+public class ClassResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private String applicationPath;
     private String resourcePath;
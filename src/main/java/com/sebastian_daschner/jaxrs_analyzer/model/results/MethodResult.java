@@ -21,6 +21,7 @@ import com.sebastian_daschner.jaxrs_analyzer.model.elements.HttpResponse;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.HttpMethod;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.MethodParameters;
 
+import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -29,7 +30,9 @@ import java.util.Set;
  *
  * @author Sebastian Daschner
  */
-public class MethodResult {
+public class MethodResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final Set<String> requestMediaTypes = new HashSet<>();
     private final Set<String> responseMediaTypes = new HashSet<>();
@@ -1,28 +1,31 @@
 package com.sebastian_daschner.jaxrs_analyzer.model.types;
 
-import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import javassist.CtClass;
-import javassist.NotFoundException;
 import javassist.bytecode.SignatureAttribute;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Represents a Java type with information about Generics, superclasses.
  *
  * @author Sebastian Daschner
  */
-public class Type {
+public class Type implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final CtClass ctClass;
     private final List<Type> typeParameters;
+    private final int hashCode;
 
     /**
      * Constructs a type with the given Java type name.
+     * Prefer {@link #of(String)}, which returns the canonical instance of the type.
      *
      * @param type The Java type name
      * @throws RuntimeException If loading the classes or deriving the type failed
@@ -34,21 +37,50 @@ public class Type {
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
-    }
-
-    private Type(final CtClass ctClass) {
-        try {
-            this.ctClass = TypeExtractor.toErasuredClass(ctClass.getName());
-            typeParameters = Collections.emptyList();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        hashCode = hashCode(ctClass, typeParameters);
     }
 
     public Type(final SignatureAttribute.Type sigType) {
         this(sigType, null, null, null);
     }
 
+    /**
+     * Returns the canonical type of the given Java type name. The same instance is returned for the same type within the current analysis.
+     *
+     * @param type The Java type name
+     * @return The type
+     * @throws RuntimeException If loading the classes or deriving the type failed
+     */
+    public static Type of(final String type) {
+        return AnalysisContext.current().getTypeCache().get(type);
+    }
+
+    /**
+     * Returns the canonical type of the given Javassist signature type.
+     *
+     * @param sigType The signature type
+     * @return The type
+     * @see #of(SignatureAttribute.Type, SignatureAttribute.ClassSignature, Type, SignatureAttribute.MethodSignature)
+     */
+    public static Type of(final SignatureAttribute.Type sigType) {
+        return of(sigType, null, null, null);
+    }
+
+    /**
+     * Returns the canonical type of the given Javassist signature type and the generic class signature of the containing classes.
+     *
+     * @param sigType                The signature type
+     * @param genericClassSignature  The generic class signature of the containing class, needed for generic classes (can be {@code null}).
+     * @param containingType         The type with the actual type arguments, needed for resolving generic classes with actual arguments
+     * @param genericMethodSignature The generic signature of the method, needed for generic methods (can be {@code null}).
+     * @return The type
+     * @see #Type(SignatureAttribute.Type, SignatureAttribute.ClassSignature, Type, SignatureAttribute.MethodSignature)
+     */
+    public static Type of(final SignatureAttribute.Type sigType, final SignatureAttribute.ClassSignature genericClassSignature, final Type containingType,
+                          final SignatureAttribute.MethodSignature genericMethodSignature) {
+        return of(getType(sigType, genericClassSignature, containingType, genericMethodSignature));
+    }
+
     /**
      * Constructs a new type for the given Javassist signature type and the generic class signature of the containing classes.
      * The later is used for resolving generic type arguments (e.g. {@code public void A getSomething()} declared in {@code public class AClass&lt;A&gt;})
@@ -68,6 +100,7 @@ public class Type {
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
+        hashCode = hashCode(ctClass, typeParameters);
     }
 
     /**
@@ -172,6 +205,7 @@ public class Type {
 
     /**
      * Checks if this type could be assigned to the given type (i.e. the given type is a superclass or interface of this type).
+     * The supertypes are taken from the class hierarchy of the current analysis.
      *
      * @param type The type to check
      * @return {@code true} if this type could be assigned to {@code type}
@@ -183,18 +217,8 @@ public class Type {
         if (this.ctClass.equals(type.ctClass) && (typeParameters.isEmpty() || type.typeParameters.isEmpty()))
             return true;
 
-        try {
-            final CtClass superclass = ctClass.getSuperclass();
-            if (superclass != null && !Types.OBJECT.ctClass.equals(superclass) && new Type(superclass).isAssignableTo(type)) {
-                return true;
-            }
-
-            return Stream.of(ctClass.getInterfaces()).anyMatch(i -> new Type(i).isAssignableTo(type));
-        } catch (NotFoundException e) {
-            LogProvider.error("Could not analyze superclass of: " + ctClass.getName() + ", reason: " + e.getMessage());
-            LogProvider.debug(e);
-            return false;
-        }
+        // the supertypes are taken as raw types
+        return AnalysisContext.current().getTypeHierarchy().isSubtype(ctClass, type.ctClass.getName());
     }
 
     @Override
@@ -204,13 +228,20 @@ public class Type {
 
         final Type type = (Type) o;
 
-        if (!ctClass.equals(type.ctClass)) return false;
+        if (hashCode != type.hashCode) return false;
+
+        // types of different class pools are equal if the class names match
+        if (!ctClass.getName().equals(type.ctClass.getName())) return false;
         return typeParameters.equals(type.typeParameters);
     }
 
     @Override
     public int hashCode() {
-        int result = ctClass.hashCode();
+        return hashCode;
+    }
+
+    private static int hashCode(final CtClass ctClass, final List<Type> typeParameters) {
+        int result = ctClass.getName().hashCode();
         result = 31 * result + typeParameters.hashCode();
         return result;
     }
@@ -238,4 +269,31 @@ public class Type {
         return builder.toString();
     }
 
+    /**
+     * Serializes the type by its name, the Javassist class is resolved again by the class pool of the current analysis.
+     *
+     * @return The serialized form
+     */
+    private Object writeReplace() {
+        return new SerializedType(toString());
+    }
+
+    /**
+     * The serialized form of a type.
+     */
+    private static class SerializedType implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String type;
+
+        private SerializedType(final String type) {
+            this.type = type;
+        }
+
+        private Object readResolve() {
+            return Type.of(type);
+        }
+    }
+
 }
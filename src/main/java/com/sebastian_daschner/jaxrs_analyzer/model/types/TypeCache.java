@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.model.types;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The canonical types of an analysis, identified by their Java type names.
+ * Different notations of the same type (e.g. with or without spaces between the type arguments) share the same instance.
+ * The types are cached per analysis, as their Javassist classes belong to the class pool of the analysis.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class TypeCache {
+
+    private final ConcurrentMap<String, Type> types = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the canonical type of the given Java type name or creates it.
+     *
+     * @param type The Java type name
+     * @return The type
+     * @throws RuntimeException If loading the classes or deriving the type failed
+     */
+    public Type get(final String type) {
+        final Type cachedType = types.get(type);
+        if (cachedType != null)
+            return cachedType;
+
+        // the type is created outside of the map, as the type arguments are created recursively
+        final Type createdType = new Type(type);
+        final String canonicalName = createdType.toString();
+
+        final Type existingType = types.putIfAbsent(canonicalName, createdType);
+        final Type canonicalType = existingType != null ? existingType : createdType;
+
+        if (!type.equals(canonicalName))
+            types.putIfAbsent(type, canonicalType);
+
+        return canonicalType;
+    }
+
+    /**
+     * Returns the number of cached type names.
+     *
+     * @return The number of cached type names
+     */
+    public int size() {
+        return types.size();
+    }
+
+}
@@ -1,6 +1,6 @@
 package com.sebastian_daschner.jaxrs_analyzer.model.types;
 
-import javassist.ClassPool;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import javassist.CtClass;
 import javassist.NotFoundException;
 import javassist.bytecode.BadBytecode;
@@ -36,7 +36,7 @@ abstract class TypeExtractor {
         } else
             className = type;
 
-        return ClassPool.getDefault().get(className);
+        return AnalysisContext.current().getClassPool().get(className);
     }
 
     static List<Type> toTypeParameters(final String descriptor) {
@@ -49,7 +49,8 @@ abstract class TypeExtractor {
         final int lastIndex = withoutPrefix.lastIndexOf('>');
         final String nestedTypes = withoutPrefix.substring(0, lastIndex);
 
-        return getTypesFirstLevel(nestedTypes).stream().map(Type::new).collect(Collectors.toList());
+        // the type parameters are shared by the canonical types
+        return Collections.unmodifiableList(getTypesFirstLevel(nestedTypes).stream().map(Type::of).collect(Collectors.toList()));
     }
 
     private static List<String> getTypesFirstLevel(final String type) {
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.model.types;
+
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import javassist.CtClass;
+import javassist.NotFoundException;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The class hierarchy of an analysis. The names of all superclasses and interfaces of a class are computed once and cached,
+ * thus checking if a class is a subtype of another class is a single lookup.
+ * The hierarchy is cached per analysis, as the Javassist classes belong to the class pool of the analysis.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class TypeHierarchy {
+
+    private static final String OBJECT_CLASS_NAME = Object.class.getName();
+
+    private final ConcurrentMap<String, Set<String>> supertypes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, List<CtClass>> superDeclarations = new ConcurrentHashMap<>();
+
+    /**
+     * Checks if the given class extends or implements the given supertype, directly or transitively.
+     * {@link Object} is not considered as a supertype.
+     *
+     * @param ctClass       The class
+     * @param supertypeName The fully-qualified name of the possible supertype
+     * @return {@code true} if the class is a subtype
+     */
+    public boolean isSubtype(final CtClass ctClass, final String supertypeName) {
+        return getSupertypes(ctClass).contains(supertypeName);
+    }
+
+    /**
+     * Returns the names of all superclasses (except {@link Object}) and interfaces of the given class.
+     *
+     * @param ctClass The class
+     * @return The names of the supertypes
+     */
+    Set<String> getSupertypes(final CtClass ctClass) {
+        final Set<String> cachedSupertypes = supertypes.get(ctClass.getName());
+        if (cachedSupertypes != null)
+            return cachedSupertypes;
+
+        // the supertypes are computed outside of the map, as the supertypes of the superclasses are computed recursively
+        final Set<String> computedSupertypes = Collections.unmodifiableSet(computeSupertypes(ctClass));
+        final Set<String> existingSupertypes = supertypes.putIfAbsent(ctClass.getName(), computedSupertypes);
+        return existingSupertypes != null ? existingSupertypes : computedSupertypes;
+    }
+
+    /**
+     * Returns all superclasses and interfaces of the given class (except the class itself and {@link Object}).
+     * The nearest declarations come first.
+     *
+     * @param ctClass The class
+     * @return The superclasses and interfaces
+     */
+    public List<CtClass> getSuperDeclarations(final CtClass ctClass) {
+        return superDeclarations.computeIfAbsent(ctClass.getName(), n -> Collections.unmodifiableList(computeSuperDeclarations(ctClass)));
+    }
+
+    private static List<CtClass> computeSuperDeclarations(final CtClass declaringClass) {
+        final List<CtClass> superClasses = new ArrayList<>();
+        final Set<String> visitedClasses = new HashSet<>();
+        final Queue<CtClass> classesToCheck = new ArrayDeque<>();
+        CtClass ctClass = declaringClass;
+
+        try {
+            do {
+                if (ctClass.getSuperclass() != null && !OBJECT_CLASS_NAME.equals(ctClass.getSuperclass().getName()))
+                    classesToCheck.add(ctClass.getSuperclass());
+
+                Collections.addAll(classesToCheck, ctClass.getInterfaces());
+
+                if (!declaringClass.equals(ctClass) && visitedClasses.add(ctClass.getName()))
+                    superClasses.add(ctClass);
+
+            } while ((ctClass = classesToCheck.poll()) != null);
+        } catch (NotFoundException e) {
+            LogProvider.error("Could not determine super classes");
+            LogProvider.debug(e);
+            // ignore
+        }
+
+        return superClasses;
+    }
+
+    private Set<String> computeSupertypes(final CtClass ctClass) {
+        final Set<String> computedSupertypes = new HashSet<>();
+        try {
+            final CtClass superclass = ctClass.getSuperclass();
+            if (superclass != null && !OBJECT_CLASS_NAME.equals(superclass.getName())) {
+                computedSupertypes.add(superclass.getName());
+                computedSupertypes.addAll(getSupertypes(superclass));
+            }
+
+            for (final CtClass anInterface : ctClass.getInterfaces()) {
+                computedSupertypes.add(anInterface.getName());
+                computedSupertypes.addAll(getSupertypes(anInterface));
+            }
+        } catch (NotFoundException e) {
+            LogProvider.error("Could not analyze superclass of: " + ctClass.getName() + ", reason: " + e.getMessage());
+            LogProvider.debug(e);
+        }
+        return computedSupertypes;
+    }
+
+}
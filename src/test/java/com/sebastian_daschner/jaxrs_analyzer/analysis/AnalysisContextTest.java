@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodPool;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Type;
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AnalysisContextTest {
+
+    @Test
+    public void testExecute() {
+        final AnalysisContext defaultContext = AnalysisContext.current();
+        final AnalysisContext context = AnalysisContext.create();
+        final AnalysisContext nestedContext = AnalysisContext.create();
+
+        context.execute(() -> {
+            assertSame(context, AnalysisContext.current());
+            assertSame(context.getMethodPool(), MethodPool.getInstance());
+
+            nestedContext.execute(() -> {
+                assertSame(nestedContext, AnalysisContext.current());
+                return null;
+            });
+
+            assertSame(context, AnalysisContext.current());
+            return null;
+        });
+
+        assertSame(defaultContext, AnalysisContext.current());
+        assertNotSame(defaultContext.getMethodPool(), context.getMethodPool());
+    }
+
+    @Test
+    public void testUncachedDefaultContext() {
+        final AnalysisContext defaultContext = AnalysisContext.current();
+        final AnalysisContext context = AnalysisContext.create();
+
+        assertNotSame(defaultContext.getTypeCache(), defaultContext.getTypeCache());
+        assertNotSame(defaultContext.getInstructionCache(), defaultContext.getInstructionCache());
+        assertNotSame(defaultContext.getMethodSummaryCache(), defaultContext.getMethodSummaryCache());
+        assertNotSame(defaultContext.getAnnotatedMethodIndex(), defaultContext.getAnnotatedMethodIndex());
+        assertSame(context.getTypeCache(), context.getTypeCache());
+        assertSame(context.getInstructionCache(), context.getInstructionCache());
+        assertSame(context.getMethodSummaryCache(), context.getMethodSummaryCache());
+        assertSame(context.getAnnotatedMethodIndex(), context.getAnnotatedMethodIndex());
+    }
+
+    @Test
+    public void testIsolatedSuperDeclarations() throws NotFoundException, CannotCompileException {
+        final AnalysisContext context = AnalysisContext.create();
+        final AnalysisContext otherContext = AnalysisContext.create();
+
+        assertSame(createSubclass(context), context.getTypeHierarchy().getSuperDeclarations(context.getClassPool().get("com.sebastian_daschner.test.Subclass")).get(0));
+        assertSame(createSubclass(otherContext), otherContext.getTypeHierarchy().getSuperDeclarations(otherContext.getClassPool().get("com.sebastian_daschner.test.Subclass")).get(0));
+    }
+
+    private static CtClass createSubclass(final AnalysisContext context) throws CannotCompileException {
+        final CtClass superclass = context.getClassPool().makeClass("com.sebastian_daschner.test.Superclass");
+        context.getClassPool().makeClass("com.sebastian_daschner.test.Subclass").setSuperclass(superclass);
+        return superclass;
+    }
+
+    @Test
+    public void testExecuteInAnalysis() {
+        final AnalysisContext defaultContext = AnalysisContext.current();
+        final AnalysisContext context = AnalysisContext.create();
+
+        assertNotSame(defaultContext, AnalysisContext.executeInAnalysis(AnalysisContext::current));
+        assertSame(context, context.execute(() -> AnalysisContext.executeInAnalysis(AnalysisContext::current)));
+        assertSame(defaultContext, AnalysisContext.current());
+    }
+
+    @Test
+    public void testSharedDefaultClasses() throws NotFoundException {
+        final AnalysisContext context = AnalysisContext.create();
+
+        assertSame(ClassPool.getDefault().get("java.lang.String"), context.getClassPool().get("java.lang.String"));
+        assertEquals(new Type("java.lang.String"), context.execute(() -> new Type("java.lang.String")));
+    }
+
+    @Test
+    public void testIsolatedProjectClasses() throws NotFoundException {
+        final AnalysisContext context = AnalysisContext.create();
+        context.getClassPool().makeClass("com.sebastian_daschner.test.IsolatedClass");
+
+        assertNotNull(context.getClassPool().get("com.sebastian_daschner.test.IsolatedClass"));
+        assertNull(ClassPool.getDefault().getOrNull("com.sebastian_daschner.test.IsolatedClass"));
+        assertNull(AnalysisContext.create().getClassPool().getOrNull("com.sebastian_daschner.test.IsolatedClass"));
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis;
+
+import com.sebastian_daschner.jaxrs_analyzer.builder.ClassResultBuilder;
+import com.sebastian_daschner.jaxrs_analyzer.builder.HttpResponseBuilder;
+import com.sebastian_daschner.jaxrs_analyzer.builder.MethodResultBuilder;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.HttpMethod;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ClassResultCacheTest {
+
+    private static final String RESOURCE = Resource.class.getName();
+    private static final Set<String> PROJECT_CLASS_NAMES = new HashSet<>(Arrays.asList(RESOURCE, Dependency.class.getName(), Unrelated.class.getName()));
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path classesDirectory;
+    private Path cacheDirectory;
+    private ClassResult classResult;
+
+    @Before
+    public void setUp() throws IOException {
+        classesDirectory = temporaryFolder.newFolder("classes").toPath();
+        cacheDirectory = temporaryFolder.newFolder("cache").toPath();
+
+        for (final Class<?> clazz : Arrays.asList(Resource.class, Dependency.class, Unrelated.class)) {
+            try (final InputStream inputStream = clazz.getResourceAsStream('/' + toFileName(clazz.getName()))) {
+                final Path classFile = classesDirectory.resolve(toFileName(clazz.getName()));
+                Files.createDirectories(classFile.getParent());
+                Files.copy(inputStream, classFile);
+            }
+        }
+
+        classResult = ClassResultBuilder.withResourcePath("test").andMethods(MethodResultBuilder
+                .withResponses(HttpResponseBuilder.withStatues(200).andEntityTypes(Types.STRING).andHeaders("Location").build())
+                .andMethod(HttpMethod.POST).andRequestBodyType(Types.STRING).andQueryParam("query", Types.PRIMITIVE_INT).build()).build();
+
+        storeResult(Collections.emptySet());
+    }
+
+    @Test
+    public void testCachedResult() {
+        assertEquals(classResult, createCache(Collections.emptySet()).get(RESOURCE));
+    }
+
+    @Test
+    public void testUncachedClass() {
+        assertNull(createCache(Collections.emptySet()).get(Dependency.class.getName()));
+    }
+
+    @Test
+    public void testChangedClass() throws IOException {
+        changeClassFile(Resource.class);
+        assertNull(createCache(Collections.emptySet()).get(RESOURCE));
+    }
+
+    @Test
+    public void testChangedDependency() throws IOException {
+        changeClassFile(Dependency.class);
+        assertNull(createCache(Collections.emptySet()).get(RESOURCE));
+    }
+
+    @Test
+    public void testChangedUnrelatedClass() throws IOException {
+        changeClassFile(Unrelated.class);
+        assertEquals(classResult, createCache(Collections.emptySet()).get(RESOURCE));
+    }
+
+    @Test
+    public void testChangedClassPaths() {
+        assertNull(createCache(Collections.singleton(Paths.get("library.jar"))).get(RESOURCE));
+    }
+
+    @Test
+    public void testDroppedResults() {
+        // the result is not requested in the analysis, thus not stored again
+        createCache(Collections.emptySet()).store();
+        assertNull(createCache(Collections.emptySet()).get(RESOURCE));
+    }
+
+    @Test
+    public void testChangedClassPathContent() throws IOException {
+        final Path library = temporaryFolder.newFile("library.jar").toPath();
+        Files.write(library, new byte[]{0});
+        storeResult(Collections.singletonList(library));
+        assertEquals(classResult, createCache(Collections.singletonList(library)).get(RESOURCE));
+
+        Files.write(library, new byte[]{0}, StandardOpenOption.APPEND);
+        assertNull(createCache(Collections.singletonList(library)).get(RESOURCE));
+    }
+
+    @Test
+    public void testChangedClassPathOrder() throws IOException {
+        final Path firstLibrary = temporaryFolder.newFile("first.jar").toPath();
+        final Path secondLibrary = temporaryFolder.newFile("second.jar").toPath();
+        storeResult(Arrays.asList(firstLibrary, secondLibrary));
+
+        assertEquals(classResult, createCache(Arrays.asList(firstLibrary, secondLibrary)).get(RESOURCE));
+        assertNull(createCache(Arrays.asList(secondLibrary, firstLibrary)).get(RESOURCE));
+    }
+
+    private void storeResult(final Collection<Path> classPaths) {
+        final ClassResultCache cache = createCache(classPaths);
+        cache.put(RESOURCE, classResult);
+        cache.store();
+    }
+
+    private ClassResultCache createCache(final Collection<Path> classPaths) {
+        return new ClassResultCache(cacheDirectory, classPaths, this::openClassFile, PROJECT_CLASS_NAMES);
+    }
+
+    private InputStream openClassFile(final String className) throws IOException {
+        final Path classFile = classesDirectory.resolve(toFileName(className));
+        return Files.exists(classFile) ? Files.newInputStream(classFile) : null;
+    }
+
+    private void changeClassFile(final Class<?> clazz) throws IOException {
+        Files.write(classesDirectory.resolve(toFileName(clazz.getName())), new byte[]{0}, StandardOpenOption.APPEND);
+    }
+
+    private static String toFileName(final String className) {
+        return className.replace('.', '/') + ".class";
+    }
+
+    private static class Resource {
+
+        private final Dependency dependency = new Dependency();
+    }
+
+    private static class Dependency {
+    }
+
+    private static class Unrelated {
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import static org.junit.Assert.*;
+
+public class MappedJarClassPathTest {
+
+    private static final String STORED_CLASS = "com.sebastian_daschner.jaxrs_analyzer.analysis.ProjectAnalyzer";
+    private static final String DEFLATED_CLASS = "com.sebastian_daschner.jaxrs_analyzer.analysis.MappedJarClassPath";
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path jarFile;
+
+    @Before
+    public void setUp() throws IOException {
+        jarFile = temporaryFolder.newFile("test.jar").toPath();
+        try (final JarOutputStream output = new JarOutputStream(Files.newOutputStream(jarFile))) {
+            output.setComment("test comment");
+            writeStoredEntry(output, toEntryName(STORED_CLASS), readClassFile(STORED_CLASS));
+            output.putNextEntry(new JarEntry(toEntryName(DEFLATED_CLASS)));
+            output.write(readClassFile(DEFLATED_CLASS));
+            output.closeEntry();
+            output.putNextEntry(new JarEntry("META-INF/test.txt"));
+            output.write("test".getBytes());
+            output.closeEntry();
+        }
+    }
+
+    @Test
+    public void testClassEntryNames() throws IOException {
+        final MappedJarClassPath classPath = new MappedJarClassPath(jarFile);
+
+        assertEquals(new HashSet<>(Arrays.asList(toEntryName(STORED_CLASS), toEntryName(DEFLATED_CLASS))), classPath.getClassEntryNames());
+    }
+
+    @Test
+    public void testOpenClassfile() throws IOException {
+        final MappedJarClassPath classPath = new MappedJarClassPath(jarFile);
+
+        assertArrayEquals(readClassFile(STORED_CLASS), readFully(classPath.openClassfile(STORED_CLASS)));
+        assertArrayEquals(readClassFile(DEFLATED_CLASS), readFully(classPath.openClassfile(DEFLATED_CLASS)));
+        assertArrayEquals("test".getBytes(), readFully(classPath.openEntry("META-INF/test.txt")));
+        assertNull(classPath.openClassfile("com.sebastian_daschner.Unknown"));
+    }
+
+    @Test
+    public void testFind() throws IOException {
+        final MappedJarClassPath classPath = new MappedJarClassPath(jarFile);
+
+        assertEquals("jar:" + jarFile.toUri() + "!/" + toEntryName(STORED_CLASS), classPath.find(STORED_CLASS).toString());
+        assertNull(classPath.find("com.sebastian_daschner.Unknown"));
+    }
+
+    @Test
+    public void testClose() throws IOException {
+        final MappedJarClassPath classPath = new MappedJarClassPath(jarFile);
+        classPath.close();
+
+        assertTrue(classPath.getClassEntryNames().isEmpty());
+        assertNull(classPath.openClassfile(STORED_CLASS));
+        assertNull(classPath.find(STORED_CLASS));
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidJarFile() throws IOException {
+        final Path invalidFile = temporaryFolder.newFile("invalid.jar").toPath();
+        Files.write(invalidFile, "no jar-file".getBytes());
+
+        new MappedJarClassPath(invalidFile);
+    }
+
+    private static void writeStoredEntry(final JarOutputStream output, final String name, final byte[] content) throws IOException {
+        final JarEntry entry = new JarEntry(name);
+        final CRC32 crc = new CRC32();
+        crc.update(content);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(content.length);
+        entry.setCrc(crc.getValue());
+        output.putNextEntry(entry);
+        output.write(content);
+        output.closeEntry();
+    }
+
+    private static byte[] readClassFile(final String className) throws IOException {
+        return readFully(MappedJarClassPathTest.class.getResourceAsStream('/' + toEntryName(className)));
+    }
+
+    private static byte[] readFully(final InputStream input) throws IOException {
+        try (final InputStream inputStream = input; final ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            final byte[] buffer = new byte[256];
+            int length;
+            while ((length = inputStream.read(buffer)) >= 0)
+                output.write(buffer, 0, length);
+            return output.toByteArray();
+        }
+    }
+
+    private static String toEntryName(final String className) {
+        return className.replace('.', '/') + ".class";
+    }
+
+}
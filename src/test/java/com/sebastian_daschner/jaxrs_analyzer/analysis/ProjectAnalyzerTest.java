@@ -23,23 +23,33 @@ import com.sebastian_daschner.jaxrs_analyzer.model.types.Type;
 import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
 import javassist.NotFoundException;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import javax.tools.JavaCompiler;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
 public class ProjectAnalyzerTest {
 
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private ProjectAnalyzer classUnderTest;
     private Path path;
 
@@ -65,8 +75,63 @@ public class ProjectAnalyzerTest {
         final long startTime = System.currentTimeMillis();
         final Resources actualResources = classUnderTest.analyze(path);
         System.out.println("Project analysis took " + (System.currentTimeMillis() - startTime) + " ms");
-        final Resources expectedResources = getResources();
+        assertResourcesEquals(getExpectedResources(), actualResources);
+    }
+
+    @Test
+    public void testParallel() {
+        final long startTime = System.currentTimeMillis();
+        final Resources actualResources = new ProjectAnalyzer(4, path).analyze(path);
+        System.out.println("Parallel project analysis took " + (System.currentTimeMillis() - startTime) + " ms");
+        assertResourcesEquals(getExpectedResources(), actualResources);
+    }
+
+    @Test
+    public void testJar() throws IOException {
+        final Path jarFile = temporaryFolder.newFile("jaxrs-test.jar").toPath();
+        createJar(jarFile);
+
+        final ProjectAnalyzer projectAnalyzer = new ProjectAnalyzer(jarFile);
+        assertResourcesEquals(getExpectedResources(), projectAnalyzer.analyze(jarFile));
+
+        // the released jar-file is mapped again
+        assertResourcesEquals(getExpectedResources(), projectAnalyzer.analyze(jarFile));
+    }
+
+    @Test
+    public void testCache() throws IOException {
+        final Path cacheDirectory = temporaryFolder.newFolder("cache").toPath();
+
+        assertResourcesEquals(getExpectedResources(), new ProjectAnalyzer(1, cacheDirectory, new Path[]{path}).analyze(path));
+        assertTrue(Files.isRegularFile(cacheDirectory.resolve("class-results.cache")));
+
+        // results are taken from the cache
+        assertResourcesEquals(getExpectedResources(), new ProjectAnalyzer(1, cacheDirectory, new Path[]{path}).analyze(path));
+    }
+
+    private void createJar(final Path jarFile) throws IOException {
+        try (final JarOutputStream output = new JarOutputStream(Files.newOutputStream(jarFile));
+             final Stream<Path> classFiles = Files.walk(path)) {
+            for (final Path classFile : classFiles.filter(p -> p.toString().endsWith(".class")).collect(Collectors.toList())) {
+                output.putNextEntry(new JarEntry(path.relativize(classFile).toString().replace(File.separatorChar, '/')));
+                output.write(Files.readAllBytes(classFile));
+                output.closeEntry();
+            }
+        }
+    }
+
+    private Resources getExpectedResources() {
+        // the project classes are only known to the class pools of the project analyzers
+        final AnalysisContext context = AnalysisContext.create();
+        try {
+            context.getClassPool().insertClassPath(path.toString());
+        } catch (NotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+        return context.execute(ProjectAnalyzerTest::getResources);
+    }
 
+    private static void assertResourcesEquals(final Resources expectedResources, final Resources actualResources) {
         assertEquals(expectedResources.getBasePath(), actualResources.getBasePath());
 
         assertEquals(expectedResources.getResources(), actualResources.getResources());
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.PushInstruction;
+import javassist.ClassPool;
+import javassist.CtBehavior;
+import javassist.CtClass;
+import javassist.NotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class InstructionCacheTest {
+
+    private CtBehavior intValueOf;
+    private CtBehavior longValueOf;
+    private CtBehavior constructor;
+    private AtomicInteger computations;
+
+    @Before
+    public void setUp() throws NotFoundException {
+        final CtClass string = ClassPool.getDefault().get("java.lang.String");
+        intValueOf = string.getMethod("valueOf", "(I)Ljava/lang/String;");
+        longValueOf = string.getMethod("valueOf", "(J)Ljava/lang/String;");
+        constructor = string.getConstructor("()V");
+        computations = new AtomicInteger();
+    }
+
+    @Test
+    public void testCachedInstructions() {
+        final InstructionCache cache = new InstructionCache(10);
+
+        final List<Instruction> instructions = cache.get(intValueOf, instructions());
+        assertSame(instructions, cache.get(intValueOf, instructions()));
+
+        assertEquals(1, computations.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testDifferentSignatures() {
+        final InstructionCache cache = new InstructionCache(10);
+
+        cache.get(intValueOf, instructions());
+        cache.get(longValueOf, instructions());
+        cache.get(constructor, instructions());
+
+        assertEquals(3, computations.get());
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        final InstructionCache cache = new InstructionCache(2);
+
+        cache.get(intValueOf, instructions());
+        cache.get(longValueOf, instructions());
+        cache.get(intValueOf, instructions());
+        // evicts longValueOf
+        cache.get(constructor, instructions());
+        cache.get(intValueOf, instructions());
+        cache.get(longValueOf, instructions());
+
+        assertEquals(2, cache.getHits());
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSize() {
+        new InstructionCache(0);
+    }
+
+    private Supplier<List<Instruction>> instructions() {
+        return () -> Collections.singletonList(new PushInstruction(computations.incrementAndGet()));
+    }
+
+}
@@ -80,4 +80,13 @@ public class ByteCodeCollectorTest {
         Assert.assertEquals("failed for " + testClassName, expectedInstructions, actualInstructions);
     }
 
+    @Test
+    public void testReusedCollector() throws NotFoundException {
+        // the state of the previously collected method must not affect the result
+        classUnderTest.buildInstructions(method.getDeclaringClass().getDeclaredMethod("getResult"));
+        final List<Instruction> actualInstructions = classUnderTest.buildInstructions(method);
+
+        Assert.assertEquals("failed for " + testClassName, expectedInstructions, actualInstructions);
+    }
+
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.collection.testclasses;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.*;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
+
+import java.util.LinkedList;
+import java.util.List;
+
+public class TestClass10 {
+
+    public int method(final int number) {
+        switch (number) {
+            case 1:
+                return 10;
+            case 2:
+                return 20;
+            case 3:
+                return 30;
+            default:
+                return 0;
+        }
+    }
+
+    public static List<Instruction> getResult() {
+        final List<Instruction> instructions = new LinkedList<>();
+
+        instructions.add(new LoadInstruction(1, Types.PRIMITIVE_INT, "number"));
+        instructions.add(new BranchInstruction("tableswitch", 1, new int[]{8, 2, 4, 6}, false));
+        instructions.add(new PushInstruction(10));
+        instructions.add(new ReturnInstruction());
+        instructions.add(new PushInstruction(20));
+        instructions.add(new ReturnInstruction());
+        instructions.add(new PushInstruction(30));
+        instructions.add(new ReturnInstruction());
+        instructions.add(new PushInstruction(0));
+        instructions.add(new ReturnInstruction());
+
+        return instructions;
+    }
+
+}
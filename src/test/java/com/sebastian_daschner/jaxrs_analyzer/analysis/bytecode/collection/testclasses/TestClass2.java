@@ -40,7 +40,7 @@ public class TestClass2 {
         instructions.add(new PushInstruction(300));
         instructions.add(new DupInstruction());
         instructions.add(new StoreInstruction(1, Types.PRIMITIVE_INT, "status"));
-        instructions.add(new SizeChangingInstruction("ifle", 0, 1));
+        instructions.add(new BranchInstruction("ifle", 1, new int[]{8}, true));
         instructions.add(new PushInstruction(100));
         instructions.add(new StoreInstruction(1, Types.PRIMITIVE_INT, "status"));
         instructions.add(new PushInstruction(200));
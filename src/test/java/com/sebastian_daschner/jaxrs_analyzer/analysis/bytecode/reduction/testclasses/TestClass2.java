@@ -16,7 +16,13 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.reduction.testclasses;
 
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.*;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
+
 import javax.ws.rs.core.Response;
+import java.util.LinkedList;
+import java.util.List;
 
 public class TestClass2 {
 
@@ -28,12 +34,21 @@ public class TestClass2 {
         return Response.status(Response.Status.ACCEPTED).build();
     }
 
-    public Response expected1() {
-        return Response.status(Response.Status.OK).build();
-    }
+    public static List<Instruction> instructions() {
+        final List<Instruction> instructions = new LinkedList<>();
 
-    public Response expected2() {
-        return Response.status(Response.Status.ACCEPTED).build();
+        // the condition is not relevant, but the branch is kept
+        instructions.add(new BranchInstruction("ifeq", 0, new int[]{5}, true));
+        instructions.add(new GetStaticInstruction(Types.RESPONSE_STATUS, "OK", Types.RESPONSE_STATUS));
+        instructions.add(new InvokeInstruction(MethodIdentifier.ofStatic(Types.RESPONSE, "status", Types.RESPONSE_BUILDER, Types.RESPONSE_STATUS)));
+        instructions.add(new InvokeInstruction(MethodIdentifier.ofNonStatic(Types.RESPONSE_BUILDER, "build", Types.RESPONSE)));
+        instructions.add(new ReturnInstruction());
+        instructions.add(new GetStaticInstruction(Types.RESPONSE_STATUS, "ACCEPTED", Types.RESPONSE_STATUS));
+        instructions.add(new InvokeInstruction(MethodIdentifier.ofStatic(Types.RESPONSE, "status", Types.RESPONSE_BUILDER, Types.RESPONSE_STATUS)));
+        instructions.add(new InvokeInstruction(MethodIdentifier.ofNonStatic(Types.RESPONSE_BUILDER, "build", Types.RESPONSE)));
+        instructions.add(new ReturnInstruction());
+
+        return instructions;
     }
 
 }
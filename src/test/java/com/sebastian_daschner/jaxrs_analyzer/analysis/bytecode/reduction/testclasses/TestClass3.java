@@ -16,7 +16,13 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.reduction.testclasses;
 
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.*;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
+
 import javax.ws.rs.core.Response;
+import java.util.LinkedList;
+import java.util.List;
 
 public class TestClass3 {
 
@@ -30,10 +36,20 @@ public class TestClass3 {
         return Response.status(status).build();
     }
 
-    public Response expected1() {
-        Response.Status status = Response.Status.ACCEPTED;
-        status = Response.Status.OK;
-        return Response.status(status).build();
+    public static List<Instruction> instructions() {
+        final List<Instruction> instructions = new LinkedList<>();
+
+        instructions.add(new GetStaticInstruction(Types.RESPONSE_STATUS, "ACCEPTED", Types.RESPONSE_STATUS));
+        instructions.add(new StoreInstruction(1, Types.RESPONSE_STATUS, "status"));
+        instructions.add(new BranchInstruction("ifeq", 0, new int[]{5}, true));
+        instructions.add(new GetStaticInstruction(Types.RESPONSE_STATUS, "OK", Types.RESPONSE_STATUS));
+        instructions.add(new StoreInstruction(1, Types.RESPONSE_STATUS, "status"));
+        instructions.add(new LoadInstruction(1, Types.RESPONSE_STATUS, "status"));
+        instructions.add(new InvokeInstruction(MethodIdentifier.ofStatic(Types.RESPONSE, "status", Types.RESPONSE_BUILDER, Types.RESPONSE_STATUS)));
+        instructions.add(new InvokeInstruction(MethodIdentifier.ofNonStatic(Types.RESPONSE_BUILDER, "build", Types.RESPONSE)));
+        instructions.add(new ReturnInstruction());
+
+        return instructions;
     }
 
 }
@@ -40,10 +40,6 @@ public class TestClass6 {
         instructions.add(new DupInstruction());
         instructions.add(new StoreInstruction(2, Types.OBJECT, "variable$2"));
         instructions.add(new SizeChangingInstruction("monitorenter", 0, 1));
-        instructions.add(new LoadInstruction(2, Types.OBJECT, "variable$2"));
-        instructions.add(new SizeChangingInstruction("monitorexit", 0, 1));
-        instructions.add(new ExceptionHandlerInstruction());
-        instructions.add(new StoreInstruction(3, Types.OBJECT, "variable$3"));
         instructions.add(new PushInstruction(6));
         instructions.add(new LoadInstruction(1, Types.PRIMITIVE_INT, "number"));
         instructions.add(new SizeChangingInstruction("idiv", 1, 2));
@@ -52,6 +48,10 @@ public class TestClass6 {
         instructions.add(new LoadInstruction(2, Types.OBJECT, "variable$2"));
         instructions.add(new SizeChangingInstruction("monitorexit", 0, 1));
         instructions.add(new ReturnInstruction());
+        instructions.add(new ExceptionHandlerInstruction());
+        instructions.add(new StoreInstruction(3, Types.OBJECT, "variable$3"));
+        instructions.add(new LoadInstruction(2, Types.OBJECT, "variable$2"));
+        instructions.add(new SizeChangingInstruction("monitorexit", 0, 1));
         instructions.add(new LoadInstruction(3, Types.OBJECT, "variable$3"));
         instructions.add(new ThrowInstruction());
 
@@ -16,7 +16,13 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.reduction.testclasses;
 
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.*;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
+
 import javax.ws.rs.core.Response;
+import java.util.LinkedList;
+import java.util.List;
 
 public class TestClass8 {
 
@@ -33,10 +39,22 @@ public class TestClass8 {
         return true;
     }
 
-    public Response expected1() {
-        Response.ResponseBuilder builder = Response.ok();
-        builder.header("X-Test", "Hello World");
-        return builder.build();
+    public static List<Instruction> instructions() {
+        final List<Instruction> instructions = new LinkedList<>();
+
+        instructions.add(new InvokeInstruction(MethodIdentifier.ofStatic(Types.RESPONSE, "ok", Types.RESPONSE_BUILDER)));
+        instructions.add(new StoreInstruction(1, Types.RESPONSE_BUILDER, "builder"));
+        instructions.add(new BranchInstruction("ifeq", 0, new int[]{8}, true));
+        instructions.add(new LoadInstruction(1, Types.RESPONSE_BUILDER, "builder"));
+        instructions.add(new PushInstruction("X-Test"));
+        instructions.add(new PushInstruction("Hello World"));
+        instructions.add(new InvokeInstruction(MethodIdentifier.ofNonStatic(Types.RESPONSE_BUILDER, "header", Types.RESPONSE_BUILDER, Types.STRING, Types.OBJECT)));
+        instructions.add(new SizeChangingInstruction("pop", 0, 1));
+        instructions.add(new LoadInstruction(1, Types.RESPONSE_BUILDER, "builder"));
+        instructions.add(new InvokeInstruction(MethodIdentifier.ofNonStatic(Types.RESPONSE_BUILDER, "build", Types.RESPONSE)));
+        instructions.add(new ReturnInstruction());
+
+        return instructions;
     }
 
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.*;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class ControlFlowGraphTest {
+
+    @Test
+    public void testLoop() {
+        final ControlFlowGraph graph = new ControlFlowGraph(MethodSimulatorTest.LOOP_INSTRUCTIONS);
+
+        assertEquals(3, graph.getBlockCount());
+        assertBlock(graph, 0, 0, 2, 1);
+        assertBlock(graph, 1, 2, 8, 1, 2);
+        assertBlock(graph, 2, 8, 10);
+    }
+
+    @Test
+    public void testExceptionHandler() {
+        final ControlFlowGraph graph = new ControlFlowGraph(Arrays.asList(
+                new PushInstruction("value"),
+                new ReturnInstruction(),
+                new ExceptionHandlerInstruction(),
+                new ThrowInstruction()));
+
+        assertEquals(2, graph.getBlockCount());
+        assertBlock(graph, 0, 0, 2);
+        assertBlock(graph, 1, 2, 4);
+    }
+
+    @Test
+    public void testSwitch() {
+        final ControlFlowGraph graph = new ControlFlowGraph(Arrays.asList(
+                new LoadInstruction(1, Types.PRIMITIVE_INT, "number"),
+                new BranchInstruction("tableswitch", 1, new int[]{4, 2, 3, 2}, false),
+                new PushInstruction("first"),
+                new PushInstruction("second"),
+                new PushInstruction("default")));
+
+        assertEquals(4, graph.getBlockCount());
+        assertBlock(graph, 0, 0, 2, 3, 1, 2);
+        assertBlock(graph, 1, 2, 3, 2);
+        assertBlock(graph, 3, 4, 5);
+    }
+
+    @Test
+    public void testNoInstructions() {
+        assertEquals(0, new ControlFlowGraph(Collections.emptyList()).getBlockCount());
+    }
+
+    private static void assertBlock(final ControlFlowGraph graph, final int block, final int start, final int end, final int... successors) {
+        assertEquals(start, graph.getBlockStart(block));
+        assertEquals(end, graph.getBlockEnd(block));
+        assertArrayEquals(successors, graph.getSuccessors(block));
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
+import org.junit.Test;
+
+import java.util.EmptyStackException;
+
+import static org.junit.Assert.*;
+
+public class ElementStackTest {
+
+    @Test
+    public void testPushAndPop() {
+        final ElementStack stack = new ElementStack();
+        final Element[] elements = new Element[20];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = new Element(Types.STRING, "value" + i);
+            stack.push(elements[i]);
+        }
+
+        assertEquals(20, stack.size());
+        assertSame(elements[19], stack.peek());
+        assertSame(elements[19], stack.pop());
+        assertArrayEquals(new Element[]{elements[16], elements[17], elements[18]}, stack.pop(3));
+        assertSame(elements[15], stack.pop());
+        assertEquals(15, stack.size());
+
+        stack.clear();
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test(expected = EmptyStackException.class)
+    public void testPopEmpty() {
+        new ElementStack().pop();
+    }
+
+    @Test(expected = EmptyStackException.class)
+    public void testPopTooMany() {
+        final ElementStack stack = new ElementStack();
+        stack.push(Element.EMPTY);
+        stack.pop(2);
+    }
+
+}
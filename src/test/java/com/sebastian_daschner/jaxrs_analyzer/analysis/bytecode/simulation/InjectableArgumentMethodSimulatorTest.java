@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.InvokeInstruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.PushInstruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.ReturnInstruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.ProjectMethod;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Type;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.assertEquals;
+
+public class InjectableArgumentMethodSimulatorTest {
+
+    private static final Type CONTAINING_TYPE = new Type("com.sebastian_daschner.test.Model");
+    private static final MethodIdentifier OUTER = MethodIdentifier.ofStatic(CONTAINING_TYPE, "outer", Types.STRING);
+    private static final MethodIdentifier INNER = MethodIdentifier.ofStatic(CONTAINING_TYPE, "inner", Types.STRING);
+    private static final MethodIdentifier RECURSIVE = MethodIdentifier.ofStatic(CONTAINING_TYPE, "recursive", Types.STRING);
+
+    @Test
+    public void testNestedMethods() {
+        assertEquals(new Element(Types.STRING, "inner"), simulate(AnalysisContext.create(), OUTER));
+    }
+
+    @Test
+    public void testRecursion() {
+        assertEquals(Element.EMPTY, simulate(AnalysisContext.create(), RECURSIVE));
+    }
+
+    @Test
+    public void testMaximumCallDepth() {
+        assertEquals(new Element(Types.STRING, "inner"), simulate(AnalysisContext.create(2, 100), OUTER));
+        assertEquals(new Element(Types.STRING), simulate(AnalysisContext.create(1, 100), OUTER));
+    }
+
+    @Test
+    public void testMaximumSimulatedInstructions() {
+        // outer method invocation, inner method invocation, push and two returns
+        assertEquals(new Element(Types.STRING, "inner"), simulate(AnalysisContext.create(10, 6), OUTER));
+        assertEquals(new Element(Types.STRING), simulate(AnalysisContext.create(10, 3), OUTER));
+    }
+
+    @Test
+    public void testConcurrentRecursion() throws InterruptedException, ExecutionException {
+        final AnalysisContext context = AnalysisContext.create();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Callable<Element>> simulations = Collections.nCopies(100, () -> simulate(context, OUTER));
+            for (final Future<Element> result : executor.invokeAll(simulations))
+                assertEquals(new Element(Types.STRING, "inner"), result.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Element simulate(final AnalysisContext context, final MethodIdentifier identifier) {
+        return context.execute(() -> {
+            final MethodPool methodPool = context.getMethodPool();
+            methodPool.addProjectMethod(new ProjectMethod(OUTER, Arrays.asList(new InvokeInstruction(INNER), new ReturnInstruction())));
+            methodPool.addProjectMethod(new ProjectMethod(INNER, Arrays.asList(new PushInstruction("inner"), new ReturnInstruction())));
+            methodPool.addProjectMethod(new ProjectMethod(RECURSIVE, Arrays.asList(new InvokeInstruction(RECURSIVE), new ReturnInstruction())));
+
+            final List<Instruction> resourceMethod = Arrays.asList(new InvokeInstruction(identifier), new ReturnInstruction());
+            return new MethodSimulator().simulate(resourceMethod);
+        });
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.ProjectMethod;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Type;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class MethodPoolTest {
+
+    private static final Type CONTAINING_TYPE = new Type("com.sebastian_daschner.test.Model");
+
+    private MethodPool classUnderTest;
+
+    @Before
+    public void setUp() {
+        classUnderTest = new MethodPool();
+    }
+
+    @Test
+    public void testKnownMethods() {
+        for (final KnownResponseResultMethod method : KnownResponseResultMethod.values())
+            assertSame(method, classUnderTest.get(method.getIdentifier()));
+        for (final KnownJsonResultMethod method : KnownJsonResultMethod.values())
+            assertSame(method, classUnderTest.get(method.getIdentifier()));
+    }
+
+    @Test
+    public void testKnownMethodsOfNewIdentifiers() {
+        // invoke instructions contain own identifier instances
+        assertSame(KnownResponseResultMethod.RESPONSE_BUILDER_ENTITY,
+                classUnderTest.get(MethodIdentifier.ofNonStatic(Types.RESPONSE_BUILDER, "entity", Types.RESPONSE_BUILDER, Types.OBJECT)));
+        assertSame(KnownResponseResultMethod.RESPONSE_BUILDER_ENTITY_ANNOTATION,
+                classUnderTest.get(MethodIdentifier.ofNonStatic(Types.RESPONSE_BUILDER, "entity", Types.RESPONSE_BUILDER, Types.OBJECT,
+                        new Type(Annotation[].class.getName()))));
+        assertSame(KnownJsonResultMethod.JSON_OBJECT_BUILDER_ADD_STRING,
+                classUnderTest.get(MethodIdentifier.ofNonStatic(Types.JSON_OBJECT_BUILDER, "add", Types.JSON_OBJECT_BUILDER, Types.STRING, Types.STRING)));
+        assertFalse(classUnderTest.get(MethodIdentifier.ofNonStatic(Types.JSON_OBJECT_BUILDER, "add", Types.JSON_OBJECT_BUILDER, Types.STRING,
+                Types.OBJECT)) instanceof KnownJsonResultMethod);
+    }
+
+    @Test
+    public void testProjectMethods() {
+        final MethodIdentifier identifier = MethodIdentifier.ofNonStatic(CONTAINING_TYPE, "getName", Types.STRING);
+        final ProjectMethod method = new ProjectMethod(identifier, Collections.emptyList());
+        final ProjectMethod duplicateMethod = new ProjectMethod(MethodIdentifier.ofNonStatic(CONTAINING_TYPE, "getName", Types.STRING), Collections.emptyList());
+
+        classUnderTest.addProjectMethod(method);
+        classUnderTest.addProjectMethod(duplicateMethod);
+
+        assertSame(method, classUnderTest.get(MethodIdentifier.ofNonStatic(CONTAINING_TYPE, "getName", Types.STRING)));
+    }
+
+    @Test
+    public void testKnownMethodsTakePrecedence() {
+        final KnownResponseResultMethod knownMethod = KnownResponseResultMethod.values()[0];
+        classUnderTest.addProjectMethod(new ProjectMethod(knownMethod.getIdentifier(), Collections.emptyList()));
+
+        assertSame(knownMethod, classUnderTest.get(knownMethod.getIdentifier()));
+    }
+
+    @Test
+    public void testDefaultMethod() {
+        final Element element = classUnderTest.get(MethodIdentifier.ofNonStatic(CONTAINING_TYPE, "getName", Types.STRING)).invoke(null, Collections.emptyList());
+        assertEquals(new Element(Types.STRING), element);
+
+        assertNull(classUnderTest.get(MethodIdentifier.ofStatic(CONTAINING_TYPE, "doSomething", Types.PRIMITIVE_VOID)).invoke(null, Collections.emptyList()));
+    }
+
+}
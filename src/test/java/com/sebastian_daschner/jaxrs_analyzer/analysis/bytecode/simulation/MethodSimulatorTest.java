@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.collection.ByteCodeCollector;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.reduction.RelevantInstructionReducer;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.HttpResponse;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.*;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
+import javassist.ClassPool;
+import javassist.NotFoundException;
+import org.junit.Test;
+
+import javax.ws.rs.core.Response;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class MethodSimulatorTest {
+
+    static final List<Instruction> LOOP_INSTRUCTIONS = Arrays.asList(
+            new PushInstruction("first"),
+            new StoreInstruction(1, Types.STRING, "value"),
+            // loop head
+            new LoadInstruction(1, Types.STRING, "value"),
+            new StoreInstruction(2, Types.STRING, "previous"),
+            new PushInstruction("second"),
+            new StoreInstruction(1, Types.STRING, "value"),
+            new LoadInstruction(1, Types.STRING, "value"),
+            new BranchInstruction("ifnonnull", 1, new int[]{2}, true),
+            new LoadInstruction(2, Types.STRING, "previous"),
+            new ReturnInstruction());
+
+    @Test
+    public void testLoopCarriedValues() {
+        // the value of the second iteration is only seen if the loop is simulated again
+        assertEquals(new Element(Types.STRING, "first", "second"), new MethodSimulator().simulate(LOOP_INSTRUCTIONS));
+    }
+
+    @Test
+    public void testMaximumBlockVisits() {
+        final List<Instruction> instructions = shiftingLoopInstructions(12);
+
+        final int simulatedInstructions = SimulationContext.execute(context -> {
+            new MethodSimulator().simulateInternal(context, instructions);
+            return context.getSimulatedInstructions();
+        });
+
+        // every block is simulated at most MAXIMUM_BLOCK_VISITS times, although the loop changes the local variables on every pass
+        assertTrue(simulatedInstructions <= MethodSimulator.MAXIMUM_BLOCK_VISITS * instructions.size());
+    }
+
+    @Test
+    public void testBranches() {
+        final List<Instruction> instructions = Arrays.asList(
+                new LoadInstruction(1, Types.PRIMITIVE_BOOLEAN, "condition"),
+                new BranchInstruction("ifeq", 1, new int[]{5}, true),
+                new PushInstruction("then"),
+                new StoreInstruction(2, Types.STRING, "value"),
+                new BranchInstruction("goto", 0, new int[]{7}, false),
+                new PushInstruction("else"),
+                new StoreInstruction(2, Types.STRING, "value"),
+                new LoadInstruction(2, Types.STRING, "value"),
+                new ReturnInstruction());
+
+        assertEquals(new Element(Types.STRING, "then", "else"), new MethodSimulator().simulate(instructions));
+    }
+
+    @Test
+    public void testJoinedStacks() {
+        // condition ? "then" : "else"
+        final List<Instruction> instructions = Arrays.asList(
+                new LoadInstruction(1, Types.PRIMITIVE_BOOLEAN, "condition"),
+                new BranchInstruction("ifeq", 1, new int[]{4}, true),
+                new PushInstruction("then"),
+                new BranchInstruction("goto", 0, new int[]{5}, false),
+                new PushInstruction("else"),
+                new ReturnInstruction());
+
+        assertEquals(new Element(Types.STRING, "then", "else"), new MethodSimulator().simulate(instructions));
+    }
+
+    @Test
+    public void testReducedForLoop() throws NotFoundException {
+        final List<Instruction> instructions = reduceInstructions("forLoop");
+        assertTrue(containsUnconditionalBranch(instructions));
+
+        final Element element = new MethodSimulator().simulate(instructions);
+        assertEquals(new HashSet<>(Arrays.asList("X-First", "X-Next")), collectResponses(element, HttpResponse::getHeaders));
+    }
+
+    @Test
+    public void testReducedWhileLoop() throws NotFoundException {
+        final List<Instruction> instructions = reduceInstructions("whileLoop");
+        assertTrue(containsUnconditionalBranch(instructions));
+
+        final Element element = new MethodSimulator().simulate(instructions);
+        assertEquals(new HashSet<>(Arrays.asList(200, 201, 202)), collectResponses(element, HttpResponse::getStatuses));
+    }
+
+    @Test
+    public void testReducedIfElse() throws NotFoundException {
+        final List<Instruction> instructions = reduceInstructions("ifElse");
+        assertTrue(containsUnconditionalBranch(instructions));
+
+        final Element element = new MethodSimulator().simulate(instructions);
+        assertEquals(new HashSet<>(Arrays.asList(200, 404)), collectResponses(element, HttpResponse::getStatuses));
+    }
+
+    /**
+     * Builds a loop with two back-edges whose head shifts the values of the given number of variables by one variable on every pass.
+     * The merged values of the variables therefore only converge after as many passes as there are variables.
+     */
+    private static List<Instruction> shiftingLoopInstructions(final int variables) {
+        final List<Instruction> instructions = new ArrayList<>();
+        for (int i = 1; i < variables; i++) {
+            instructions.add(new LoadInstruction(i + 1, Types.STRING, "variable" + (i + 1)));
+            instructions.add(new StoreInstruction(i, Types.STRING, "variable" + i));
+        }
+        instructions.add(new PushInstruction("value"));
+        instructions.add(new StoreInstruction(variables, Types.STRING, "variable" + variables));
+
+        final int exit = instructions.size() + 6;
+        instructions.add(new LoadInstruction(0, Types.PRIMITIVE_BOOLEAN, "condition"));
+        instructions.add(new BranchInstruction("ifeq", 1, new int[]{exit}, true));
+        instructions.add(new LoadInstruction(0, Types.PRIMITIVE_BOOLEAN, "condition"));
+        instructions.add(new BranchInstruction("ifeq", 1, new int[]{exit - 1}, true));
+        // both paths jump back to the loop head
+        instructions.add(new BranchInstruction("goto", 0, new int[]{0}, false));
+        instructions.add(new BranchInstruction("goto", 0, new int[]{0}, false));
+
+        instructions.add(new LoadInstruction(1, Types.STRING, "variable1"));
+        instructions.add(new ReturnInstruction());
+        return instructions;
+    }
+
+    private static List<Instruction> reduceInstructions(final String methodName) throws NotFoundException {
+        final List<Instruction> instructions = new ByteCodeCollector().buildInstructions(ClassPool.getDefault()
+                .get(CompiledMethods.class.getName()).getDeclaredMethod(methodName));
+        return new RelevantInstructionReducer().reduceInstructions(instructions);
+    }
+
+    private static boolean containsUnconditionalBranch(final List<Instruction> instructions) {
+        return instructions.stream().anyMatch(i -> i instanceof BranchInstruction && !((BranchInstruction) i).isConditional());
+    }
+
+    private static <T> Set<T> collectResponses(final Element element, final Function<HttpResponse, Set<T>> mapper) {
+        return element.getPossibleValues().stream().map(HttpResponse.class::cast).map(mapper)
+                .flatMap(Collection::stream).collect(Collectors.toSet());
+    }
+
+    /**
+     * Methods compiled by javac, simulated after being collected and reduced.
+     */
+    static class CompiledMethods {
+
+        static Response forLoop(final int count) {
+            Response.ResponseBuilder builder = Response.ok();
+            String header = "X-First";
+            for (int i = 0; i < count; i++) {
+                builder = builder.header(header, "value");
+                header = "X-Next";
+            }
+            return builder.build();
+        }
+
+        static Response whileLoop(int count) {
+            int status = 200;
+            int next = 201;
+            while (count-- > 0) {
+                status = next;
+                next = 202;
+            }
+            return Response.status(status).build();
+        }
+
+        static Response ifElse(final boolean condition) {
+            final int status;
+            if (condition)
+                status = 200;
+            else
+                status = 404;
+            return Response.status(status).build();
+        }
+
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.HttpResponse;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.LoadInstruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.ReturnInstruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Type;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MethodSummaryCacheTest {
+
+    private static final MethodIdentifier IDENTIFIER = MethodIdentifier.ofStatic(new Type("com.sebastian_daschner.test.Model"), "find", Types.STRING, Types.STRING);
+
+    private MethodSummaryCache classUnderTest;
+
+    @Before
+    public void setUp() {
+        classUnderTest = new MethodSummaryCache(10);
+    }
+
+    @Test
+    public void testCachedResult() {
+        final List<Element> arguments = Collections.singletonList(new Element(Types.STRING, "id"));
+        final HttpResponse response = new HttpResponse();
+        response.getStatuses().add(200);
+        final Element result = new Element(Types.RESPONSE, response);
+
+        assertNull(classUnderTest.get(classUnderTest.createKey(IDENTIFIER, arguments)));
+        classUnderTest.put(classUnderTest.createKey(IDENTIFIER, arguments), arguments, result);
+
+        final MethodSummaryCache.Summary summary = classUnderTest.get(classUnderTest.createKey(IDENTIFIER, Collections.singletonList(new Element(Types.STRING, "id"))));
+        final Element firstResult = summary.createResult();
+        final Element secondResult = summary.createResult();
+
+        assertEquals(result, firstResult);
+        assertNotSame(firstResult, secondResult);
+
+        // the simulation modifies the returned responses
+        ((HttpResponse) firstResult.getPossibleValues().iterator().next()).getStatuses().add(404);
+        assertEquals(result, secondResult);
+        assertEquals(result, summary.createResult());
+
+        assertNull(classUnderTest.get(classUnderTest.createKey(IDENTIFIER, Collections.singletonList(new Element(Types.STRING, "other")))));
+        assertEquals(1, classUnderTest.getHits());
+        assertEquals(2, classUnderTest.getMisses());
+    }
+
+    @Test
+    public void testVoidResult() {
+        final List<Element> arguments = Collections.singletonList(Element.EMPTY);
+        classUnderTest.put(classUnderTest.createKey(IDENTIFIER, arguments), arguments, null);
+
+        final MethodSummaryCache.Summary summary = classUnderTest.get(classUnderTest.createKey(IDENTIFIER, arguments));
+        assertNotNull(summary);
+        assertNull(summary.createResult());
+    }
+
+    @Test
+    public void testMutableArguments() {
+        assertNull(classUnderTest.createKey(IDENTIFIER, Collections.singletonList(new Element(Types.RESPONSE, new HttpResponse()))));
+    }
+
+    @Test
+    public void testChangedArguments() {
+        final List<Element> arguments = Collections.singletonList(new Element(Types.STRING, "id"));
+        final MethodSummaryCache.Key key = classUnderTest.createKey(IDENTIFIER, arguments);
+        arguments.get(0).addPossibleValue("other");
+
+        classUnderTest.put(key, arguments, new Element(Types.STRING, "result"));
+
+        assertNull(classUnderTest.get(classUnderTest.createKey(IDENTIFIER, Collections.singletonList(new Element(Types.STRING, "id")))));
+    }
+
+    @Test
+    public void testSimulation() {
+        final AnalysisContext context = AnalysisContext.create();
+        final List<Instruction> instructions = Arrays.asList(new LoadInstruction(0, Types.STRING, "id"), new ReturnInstruction());
+
+        context.execute(() -> {
+            final Element firstResult = new InjectableArgumentMethodSimulator().simulate(Collections.singletonList(new Element(Types.STRING, "id")), instructions, IDENTIFIER);
+            final Element secondResult = new InjectableArgumentMethodSimulator().simulate(Collections.singletonList(new Element(Types.STRING, "id")), instructions, IDENTIFIER);
+
+            assertEquals(new Element(Types.STRING, "id"), firstResult);
+            assertEquals(firstResult, secondResult);
+            return null;
+        });
+
+        assertEquals(1, context.getMethodSummaryCache().getHits());
+        assertEquals(1, context.getMethodSummaryCache().getMisses());
+    }
+
+}
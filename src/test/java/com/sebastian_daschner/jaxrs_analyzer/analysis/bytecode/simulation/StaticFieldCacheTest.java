@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.GetStaticInstruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Type;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
+import javassist.ClassPool;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.core.Response;
+
+import static org.junit.Assert.*;
+
+public class StaticFieldCacheTest {
+
+    private static final Type CONSTANTS = new Type(StaticFieldCacheTest.class.getName() + "$Constants");
+    private static boolean initialized;
+
+    private StaticFieldCache classUnderTest;
+
+    @Before
+    public void setUp() {
+        classUnderTest = new StaticFieldCache(ClassPool.getDefault());
+    }
+
+    @Test
+    public void testConstants() {
+        assertEquals(new Element(Types.STRING, "name"), get(CONSTANTS, "NAME", Types.STRING));
+        assertEquals(new Element(Types.PRIMITIVE_CHAR, 'c'), get(CONSTANTS, "CHARACTER", Types.PRIMITIVE_CHAR));
+        assertEquals(new Element(Types.PRIMITIVE_BOOLEAN, true), get(CONSTANTS, "FLAG", Types.PRIMITIVE_BOOLEAN));
+    }
+
+    @Test
+    public void testNarrowedConstants() {
+        assertEquals(new Element(Types.PRIMITIVE_BOOLEAN, false), get(CONSTANTS, "DISABLED", Types.PRIMITIVE_BOOLEAN));
+        assertEquals(new Element(Types.PRIMITIVE_CHAR, 'x'), get(CONSTANTS, "CHARACTER_CODE", Types.PRIMITIVE_CHAR));
+        assertEquals(new Element(Types.PRIMITIVE_SHORT, (short) -300), get(CONSTANTS, "SHORT", Types.PRIMITIVE_SHORT));
+        assertEquals(new Element(Types.PRIMITIVE_BYTE, (byte) 42), get(CONSTANTS, "BYTE", Types.PRIMITIVE_BYTE));
+    }
+
+    @Test
+    public void testProjectClassNotInitialized() {
+        assertEquals(new Element(Types.OBJECT), get(CONSTANTS, "OBJECT", Types.OBJECT));
+        assertFalse(initialized);
+    }
+
+    @Test
+    public void testApiField() {
+        assertEquals(new Element(Types.RESPONSE_STATUS, Response.Status.OK), get(Types.RESPONSE_STATUS, "OK", Types.RESPONSE_STATUS));
+    }
+
+    @Test
+    public void testUnknownField() {
+        assertEquals(new Element(Types.STRING), get(CONSTANTS, "UNKNOWN", Types.STRING));
+    }
+
+    @Test
+    public void testNewElements() {
+        final Element element = get(CONSTANTS, "NAME", Types.STRING);
+        element.addPossibleValue("other");
+
+        assertEquals(new Element(Types.STRING, "name"), get(CONSTANTS, "NAME", Types.STRING));
+    }
+
+    private Element get(final Type containingClass, final String fieldName, final Type fieldType) {
+        return classUnderTest.get(new GetStaticInstruction(containingClass, fieldName, fieldType));
+    }
+
+    private static class Constants {
+
+        static final String NAME = "name";
+        static final char CHARACTER = 'c';
+        static final boolean FLAG = true;
+        static final boolean DISABLED = false;
+        static final char CHARACTER_CODE = 120;
+        static final short SHORT = -300;
+        static final byte BYTE = 42;
+        static final Object OBJECT = initialize();
+
+        private static Object initialize() {
+            initialized = true;
+            return new Object();
+        }
+    }
+
+}
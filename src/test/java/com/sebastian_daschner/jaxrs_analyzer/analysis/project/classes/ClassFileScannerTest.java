@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.project.classes;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.utils.TestClassUtils;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Produces;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ClassFileScannerTest {
+
+    @Test
+    public void testResourceClasses() throws Exception {
+        for (final Class<?> testClass : TestClassUtils.getClasses("com.sebastian_daschner.jaxrs_analyzer.analysis.project.classes.testclasses")) {
+            if (!testClass.getSimpleName().startsWith("TestClass"))
+                continue;
+            assertTrue("failed for " + testClass.getSimpleName(), ClassFileScanner.isPotentiallyRelevant(classFile(testClass)));
+        }
+    }
+
+    @Test
+    public void testNonResourceClasses() {
+        assertFalse(ClassFileScanner.isPotentiallyRelevant(classFile(String.class)));
+        assertFalse(ClassFileScanner.isPotentiallyRelevant(classFile(ClassFileScannerTest.class)));
+        assertFalse(ClassFileScanner.isPotentiallyRelevant(classFile(MethodAnnotations.class)));
+        assertFalse(ClassFileScanner.isPotentiallyRelevant(classFile(PathReference.class)));
+    }
+
+    @Test
+    public void testReferencedClassNames() throws IOException {
+        final Set<String> methodAnnotationsReferences = ClassFileScanner.findReferencedClassNames(classFile(MethodAnnotations.class));
+        assertTrue(methodAnnotationsReferences.containsAll(Arrays.asList("javax.ws.rs.GET", "javax.ws.rs.Path", "javax.ws.rs.Produces", "java.lang.String")));
+
+        assertTrue(ClassFileScanner.findReferencedClassNames(classFile(PathReference.class)).contains("javax.ws.rs.Path"));
+        assertTrue(ClassFileScanner.findReferencedClassNames(classFile(GenericReference.class)).contains("javax.ws.rs.core.Response"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testReferencedClassNamesInvalidClassFile() throws IOException {
+        ClassFileScanner.findReferencedClassNames(new ByteArrayInputStream(new byte[]{(byte) 0xCA, (byte) 0xFE, 0, 0}));
+    }
+
+    @Test
+    public void testInvalidClassFile() {
+        assertTrue(ClassFileScanner.isPotentiallyRelevant(new ByteArrayInputStream(new byte[]{(byte) 0xCA, (byte) 0xFE})));
+    }
+
+    private static InputStream classFile(final Class<?> clazz) {
+        return clazz.getResourceAsStream('/' + clazz.getName().replace('.', '/') + ".class");
+    }
+
+    @Produces("application/json")
+    private static class MethodAnnotations {
+
+        @GET
+        @javax.ws.rs.Path("test")
+        public String get() {
+            return "test";
+        }
+    }
+
+    private static class PathReference {
+
+        public Class<?> get() {
+            return javax.ws.rs.Path.class;
+        }
+    }
+
+    private static class GenericReference {
+
+        private List<javax.ws.rs.core.Response> responses;
+    }
+
+}
@@ -93,6 +93,11 @@ public class ResourceMethodContentAnalyzerTest {
         final Set<HttpResponse> actualResult = result.getResponses();
 
         Assert.assertEquals("failed for " + testClassName, expectedResult, actualResult);
+
+        // the reused analyzer analyzes the method again in a new analysis
+        final MethodResult secondResult = new MethodResult();
+        classUnderTest.analyze(method, secondResult);
+        Assert.assertEquals("failed for second analysis of " + testClassName, expectedResult, secondResult.getResponses());
     }
 
 }
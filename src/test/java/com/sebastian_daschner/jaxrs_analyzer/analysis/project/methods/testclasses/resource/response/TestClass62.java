@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.project.methods.testclasses.resource.response;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.HttpResponse;
+
+import javax.ws.rs.core.Response;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+public class TestClass62 {
+
+    public Response method(final String id) {
+        if (count(id.length()) > 10)
+            return build(202);
+        return build(201);
+    }
+
+    private int count(final int number) {
+        return number <= 0 ? 0 : countDown(number - 1) + 1;
+    }
+
+    private int countDown(final int number) {
+        return number <= 0 ? 0 : count(number - 1) + 1;
+    }
+
+    private Response build(final int status) {
+        return Response.status(status).build();
+    }
+
+    public static Set<HttpResponse> getResult() {
+        final HttpResponse firstResult = new HttpResponse();
+        firstResult.getStatuses().add(201);
+
+        final HttpResponse secondResult = new HttpResponse();
+        secondResult.getStatuses().add(202);
+
+        return new HashSet<>(Arrays.asList(firstResult, secondResult));
+    }
+
+}
\ No newline at end of file
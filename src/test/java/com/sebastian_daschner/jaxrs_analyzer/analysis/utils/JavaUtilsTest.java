@@ -1,10 +1,13 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.utils;
 
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.types.Type;
 import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
+import javassist.CtBehavior;
+import javassist.CtConstructor;
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 public class JavaUtilsTest {
 
@@ -94,4 +97,46 @@ public class JavaUtilsTest {
         assertEquals(stampedLockLinkedList, actualType);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testGetMethod() {
+        final Type type = new Type(Child.class.getName());
+
+        final CtBehavior constructor = JavaUtils.getMethod(MethodIdentifier.ofNonStatic(type, JavaUtils.INITIALIZER_NAME, Types.PRIMITIVE_VOID, Types.STRING));
+        assertTrue(constructor instanceof CtConstructor);
+        assertEquals("(Ljava/lang/String;)V", constructor.getSignature());
+
+        final CtBehavior declaredMethod = JavaUtils.getMethod(MethodIdentifier.ofNonStatic(type, "name", Types.STRING, Types.PRIMITIVE_INT));
+        assertEquals(Child.class.getName(), declaredMethod.getDeclaringClass().getName());
+
+        final CtBehavior overloadedMethod = JavaUtils.getMethod(MethodIdentifier.ofNonStatic(type, "name", Types.STRING, Types.STRING));
+        assertEquals("(Ljava/lang/String;)Ljava/lang/String;", overloadedMethod.getSignature());
+
+        final CtBehavior inheritedMethod = JavaUtils.getMethod(MethodIdentifier.ofNonStatic(type, "parentName", Types.STRING));
+        assertEquals(Parent.class.getName(), inheritedMethod.getDeclaringClass().getName());
+
+        assertNull(JavaUtils.getMethod(MethodIdentifier.ofNonStatic(type, "name", Types.STRING, Types.PRIMITIVE_LONG)));
+        assertNull(JavaUtils.getMethod(MethodIdentifier.ofNonStatic(type, JavaUtils.INITIALIZER_NAME, Types.PRIMITIVE_VOID)));
+    }
+
+    public static class Parent {
+
+        public String parentName() {
+            return null;
+        }
+    }
+
+    public static class Child extends Parent {
+
+        public Child(final String name) {
+        }
+
+        private String name(final int index) {
+            return null;
+        }
+
+        public String name(final String prefix) {
+            return null;
+        }
+    }
+
+}
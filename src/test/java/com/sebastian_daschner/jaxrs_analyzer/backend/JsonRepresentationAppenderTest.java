@@ -123,6 +123,21 @@ public class JsonRepresentationAppenderTest {
         assertThat(builder.toString(), is("{\"abc\":\"string\",\"hello\":\"string\",\"model\":{},\"world\":0}"));
     }
 
+    @Test
+    public void testVisitConcreteWithNestedCollection() {
+        final TypeIdentifier identifier = TypeIdentifier.ofType(new Type("com.sebastian_daschner.test.Model"));
+        final TypeIdentifier listIdentifier = TypeIdentifier.ofType(new Type("java.util.List<com.sebastian_daschner.test.Model>"));
+        Map<String, TypeIdentifier> properties = new HashMap<>();
+        properties.put("world", INT_IDENTIFIER);
+        properties.put("models", listIdentifier);
+        final TypeRepresentation representation = TypeRepresentation.ofConcrete(identifier, properties);
+
+        representations.put(identifier, representation);
+        representations.put(listIdentifier, TypeRepresentation.ofCollection(listIdentifier, representation));
+        representation.accept(cut);
+        assertThat(builder.toString(), is("{\"models\":[{}],\"world\":0}"));
+    }
+
     @Test
     public void testVisitConcreteWithNestedPreventSuppression() {
         final TypeIdentifier dateIdentifier = TypeIdentifier.ofType(Types.DATE);
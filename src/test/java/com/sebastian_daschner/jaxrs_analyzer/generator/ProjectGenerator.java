@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.generator;
+
+import javassist.*;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.ParameterAnnotationsAttribute;
+import javassist.bytecode.SignatureAttribute;
+import javassist.bytecode.annotation.Annotation;
+import javassist.bytecode.annotation.StringMemberValue;
+
+import javax.ws.rs.ApplicationPath;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Application;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the class files of synthetic JAX-RS projects of configurable size.
+ * The byte code is created with Javassist, thus neither a compiler nor a build tool is needed.
+ * <p>
+ * Every resource class {@code ResourceN} (path {@code api/resourceN}) contains:
+ * <ul>
+ * <li>{@code GET {id}} which returns a {@code Response} at the end of a chain of private helper methods (status 200 or 404)</li>
+ * <li>{@code GET} which returns a generic {@code Page} of DTOs</li>
+ * <li>{@code POST} which takes a DTO and returns a created {@code Response} (status 201)</li>
+ * <li>{@code GET summary} which returns a JSON object built with JSON-P</li>
+ * <li>the sub-resource locator {@code sub} to {@code SubResourceN} with {@code GET} (status 204) and {@code DELETE} (status 202)</li>
+ * </ul>
+ * The DTOs form a cycle of single references to the next DTO, and every DTO contains a list of its own type.
+ *
+ * @author Sebastian Daschner
+ */
+public class ProjectGenerator {
+
+    public static final String PACKAGE = "com.sebastian_daschner.jaxrs_analyzer.generated";
+
+    private final int resources;
+    private int callDepth = 5;
+    private int dtos = 20;
+
+    /**
+     * Creates a generator for projects with the given number of resource classes.
+     *
+     * @param resources The number of resource classes (at least {@code 1})
+     */
+    public ProjectGenerator(final int resources) {
+        if (resources < 1)
+            throw new IllegalArgumentException("The number of resources must be positive");
+        this.resources = resources;
+    }
+
+    /**
+     * Sets the number of helper methods which are invoked subsequently by a resource method.
+     *
+     * @param callDepth The call depth (at least {@code 1})
+     */
+    public ProjectGenerator callDepth(final int callDepth) {
+        if (callDepth < 1)
+            throw new IllegalArgumentException("The call depth must be positive");
+        this.callDepth = callDepth;
+        return this;
+    }
+
+    /**
+     * Sets the number of DTO classes which are shared by the resources.
+     *
+     * @param dtos The number of DTOs (at least {@code 1})
+     */
+    public ProjectGenerator dtos(final int dtos) {
+        if (dtos < 1)
+            throw new IllegalArgumentException("The number of DTOs must be positive");
+        this.dtos = dtos;
+        return this;
+    }
+
+    /**
+     * Writes the class files of the project to the given directory.
+     *
+     * @param directory The output directory
+     * @return The names of all generated classes
+     */
+    public List<String> generate(final Path directory) {
+        final ClassPool pool = new ClassPool(ClassPool.getDefault());
+        final List<String> classNames = new ArrayList<>();
+
+        try {
+            // written classes are detached from the pool and loaded again from the directory if they are referenced
+            pool.appendClassPath(directory.toString());
+            classNames.add(write(createApplication(pool), directory));
+            classNames.add(write(createPage(pool), directory));
+
+            // the DTOs reference each other, thus all of them are created before their fields are added
+            final List<CtClass> dtoClasses = new ArrayList<>();
+            for (int index = 0; index < dtos; index++)
+                dtoClasses.add(pool.makeClass(dtoName(index)));
+            for (int index = 0; index < dtos; index++)
+                addDtoProperties(dtoClasses.get(index), index);
+            for (final CtClass dto : dtoClasses)
+                classNames.add(write(dto, directory));
+
+            for (int index = 0; index < resources; index++) {
+                classNames.add(write(createSubResource(pool, index), directory));
+                classNames.add(write(createResource(pool, index), directory));
+            }
+        } catch (NotFoundException | CannotCompileException | IOException e) {
+            throw new IllegalStateException("Could not generate the project", e);
+        }
+
+        return classNames;
+    }
+
+    private static String write(final CtClass ctClass, final Path directory) throws CannotCompileException, IOException {
+        ctClass.writeFile(directory.toString());
+        ctClass.detach();
+        return ctClass.getName();
+    }
+
+    private static CtClass createApplication(final ClassPool pool) throws NotFoundException, CannotCompileException {
+        final CtClass application = pool.makeClass(PACKAGE + ".JAXRSConfig", pool.get(Application.class.getName()));
+        final ConstPool constPool = application.getClassFile().getConstPool();
+
+        application.getClassFile().addAttribute(annotations(constPool, annotation(constPool, ApplicationPath.class, "api")));
+        application.addConstructor(CtNewConstructor.defaultConstructor(application));
+        return application;
+    }
+
+    private static CtClass createPage(final ClassPool pool) throws CannotCompileException {
+        final CtClass page = pool.makeClass(PACKAGE + ".Page");
+        final ConstPool constPool = page.getClassFile().getConstPool();
+
+        page.getClassFile().addAttribute(new SignatureAttribute(constPool, "<T:Ljava/lang/Object;>Ljava/lang/Object;"));
+        page.addConstructor(CtNewConstructor.defaultConstructor(page));
+        addProperty(page, "items", "java.util.List", "Ljava/util/List<TT;>;");
+        addProperty(page, "total", "int", null);
+        return page;
+    }
+
+    private void addDtoProperties(final CtClass dto, final int index) throws CannotCompileException {
+        final String next = dtoName((index + 1) % dtos);
+
+        dto.addConstructor(CtNewConstructor.defaultConstructor(dto));
+        addProperty(dto, "id", "long", null);
+        addProperty(dto, "name", "java.lang.String", null);
+        addProperty(dto, "next", next, null);
+        addProperty(dto, "children", "java.util.List", "Ljava/util/List<" + descriptor(dto.getName()) + ">;");
+    }
+
+    private CtClass createResource(final ClassPool pool, final int index) throws NotFoundException, CannotCompileException {
+        final CtClass resource = pool.makeClass(PACKAGE + ".Resource" + index);
+        final ConstPool constPool = resource.getClassFile().getConstPool();
+        final String dto = dtoName(index % dtos);
+
+        resource.getClassFile().addAttribute(annotations(constPool, annotation(constPool, javax.ws.rs.Path.class, "resource" + index)));
+        resource.addConstructor(CtNewConstructor.defaultConstructor(resource));
+
+        // the helper methods are added in reverse order, as every helper invokes the next one
+        resource.addMethod(CtNewMethod.make("private javax.ws.rs.core.Response find" + (callDepth - 1) + "(String id) {" +
+                "if (id.isEmpty()) return javax.ws.rs.core.Response.status(404).build();" +
+                "return javax.ws.rs.core.Response.ok(new " + dto + "()).header(\"X-Resource\", id).build(); }", resource));
+        for (int depth = callDepth - 2; depth >= 0; depth--)
+            resource.addMethod(CtNewMethod.make("private javax.ws.rs.core.Response find" + depth + "(String id) {" +
+                    "return find" + (depth + 1) + "(id.trim()); }", resource));
+
+        final CtMethod find = CtNewMethod.make("public javax.ws.rs.core.Response find(String id) { return find0(id); }", resource);
+        addAnnotations(find.getMethodInfo(), annotation(constPool, GET.class, null), annotation(constPool, javax.ws.rs.Path.class, "{id}"));
+        addParameterAnnotation(find.getMethodInfo(), annotation(constPool, PathParam.class, "id"));
+        resource.addMethod(find);
+
+        final CtMethod list = CtNewMethod.make("public " + PACKAGE + ".Page list(int limit) {" +
+                PACKAGE + ".Page page = new " + PACKAGE + ".Page(); page.setTotal(limit); return page; }", resource);
+        list.getMethodInfo().addAttribute(new SignatureAttribute(constPool, "(I)L" + PACKAGE.replace('.', '/') + "/Page<" + descriptor(dto) + ">;"));
+        addAnnotations(list.getMethodInfo(), annotation(constPool, GET.class, null));
+        addParameterAnnotation(list.getMethodInfo(), annotation(constPool, QueryParam.class, "limit"));
+        resource.addMethod(list);
+
+        final CtMethod create = CtNewMethod.make("public javax.ws.rs.core.Response create(" + dto + " entity) {" +
+                "return javax.ws.rs.core.Response.created(java.net.URI.create(\"resource" + index + "/\" + entity.getId())).build(); }", resource);
+        addAnnotations(create.getMethodInfo(), annotation(constPool, POST.class, null));
+        resource.addMethod(create);
+
+        final CtMethod summary = CtNewMethod.make("public javax.json.JsonObject summary() {" +
+                "return javax.json.Json.createObjectBuilder().add(\"resource\", \"resource" + index + "\").add(\"size\", " + index + ")" +
+                ".add(\"tags\", javax.json.Json.createArrayBuilder().add(\"generated\").add(" + index + ")).build(); }", resource);
+        addAnnotations(summary.getMethodInfo(), annotation(constPool, GET.class, null), annotation(constPool, javax.ws.rs.Path.class, "summary"));
+        resource.addMethod(summary);
+
+        final String subResource = PACKAGE + ".SubResource" + index;
+        final CtMethod locator = CtNewMethod.make("public " + subResource + " sub() { return new " + subResource + "(); }", resource);
+        addAnnotations(locator.getMethodInfo(), annotation(constPool, javax.ws.rs.Path.class, "sub"));
+        resource.addMethod(locator);
+
+        return resource;
+    }
+
+    private static CtClass createSubResource(final ClassPool pool, final int index) throws CannotCompileException {
+        final CtClass subResource = pool.makeClass(PACKAGE + ".SubResource" + index);
+        final ConstPool constPool = subResource.getClassFile().getConstPool();
+
+        subResource.addConstructor(CtNewConstructor.defaultConstructor(subResource));
+
+        final CtMethod get = CtNewMethod.make("public javax.ws.rs.core.Response get() { return javax.ws.rs.core.Response.noContent().build(); }", subResource);
+        addAnnotations(get.getMethodInfo(), annotation(constPool, GET.class, null));
+        subResource.addMethod(get);
+
+        final CtMethod delete = CtNewMethod.make("public javax.ws.rs.core.Response delete() { return javax.ws.rs.core.Response.accepted().build(); }", subResource);
+        addAnnotations(delete.getMethodInfo(), annotation(constPool, DELETE.class, null));
+        subResource.addMethod(delete);
+
+        return subResource;
+    }
+
+    private static void addProperty(final CtClass ctClass, final String name, final String type, final String signature) throws CannotCompileException {
+        final CtField field = CtField.make("private " + type + " " + name + ";", ctClass);
+        ctClass.addField(field);
+
+        final String capitalizedName = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        final CtMethod getter = CtNewMethod.getter("get" + capitalizedName, field);
+        ctClass.addMethod(getter);
+        ctClass.addMethod(CtNewMethod.setter("set" + capitalizedName, field));
+
+        if (signature != null) {
+            final ConstPool constPool = ctClass.getClassFile().getConstPool();
+            field.getFieldInfo().addAttribute(new SignatureAttribute(constPool, signature));
+            getter.getMethodInfo().addAttribute(new SignatureAttribute(constPool, "()" + signature));
+        }
+    }
+
+    private static String dtoName(final int index) {
+        return PACKAGE + ".Dto" + index;
+    }
+
+    private static String descriptor(final String className) {
+        return 'L' + className.replace('.', '/') + ';';
+    }
+
+    private static void addAnnotations(final MethodInfo methodInfo, final Annotation... annotations) {
+        methodInfo.addAttribute(annotations(methodInfo.getConstPool(), annotations));
+    }
+
+    private static void addParameterAnnotation(final MethodInfo methodInfo, final Annotation annotation) {
+        final ParameterAnnotationsAttribute attribute = new ParameterAnnotationsAttribute(methodInfo.getConstPool(), ParameterAnnotationsAttribute.visibleTag);
+        attribute.setAnnotations(new Annotation[][]{{annotation}});
+        methodInfo.addAttribute(attribute);
+    }
+
+    private static AnnotationsAttribute annotations(final ConstPool constPool, final Annotation... annotations) {
+        final AnnotationsAttribute attribute = new AnnotationsAttribute(constPool, AnnotationsAttribute.visibleTag);
+        attribute.setAnnotations(annotations);
+        return attribute;
+    }
+
+    private static Annotation annotation(final ConstPool constPool, final Class<?> type, final String value) {
+        final Annotation annotation = new Annotation(type.getName(), constPool);
+        if (value != null)
+            annotation.addMemberValue("value", new StringMemberValue(value, constPool));
+        return annotation;
+    }
+
+}
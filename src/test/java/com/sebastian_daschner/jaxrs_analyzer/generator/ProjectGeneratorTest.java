@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.generator;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.ProjectAnalyzer;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.HttpMethod;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.ResourceMethod;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.Resources;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class ProjectGeneratorTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testGenerate() throws IOException {
+        final Path directory = temporaryFolder.getRoot().toPath();
+        final List<String> classNames = new ProjectGenerator(3).callDepth(10).dtos(4).generate(directory);
+
+        // application, page, DTOs, resources and sub-resources
+        assertEquals(1 + 1 + 4 + 2 * 3, classNames.size());
+        classNames.forEach(c -> assertTrue(c, Files.exists(directory.resolve(c.replace('.', '/') + ".class"))));
+
+        final Resources resources = new ProjectAnalyzer(directory).analyze(directory);
+
+        final Set<String> expectedPaths = IntStream.range(0, 3).mapToObj(i -> "resource" + i)
+                .flatMap(r -> Stream.of(r, r + "/{id}", r + "/summary", r + "/sub"))
+                .collect(Collectors.toSet());
+        assertEquals("api", resources.getBasePath());
+        assertEquals(expectedPaths, resources.getResources());
+
+        assertStatuses(resources, "resource1/{id}", HttpMethod.GET, 200, 404);
+        assertStatuses(resources, "resource1", HttpMethod.POST, 201);
+        assertStatuses(resources, "resource1/summary", HttpMethod.GET, 200);
+        assertStatuses(resources, "resource1/sub", HttpMethod.GET, 204);
+        assertStatuses(resources, "resource1/sub", HttpMethod.DELETE, 202);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCallDepth() {
+        new ProjectGenerator(1).callDepth(0);
+    }
+
+    private static void assertStatuses(final Resources resources, final String path, final HttpMethod httpMethod, final Integer... statuses) {
+        final ResourceMethod method = resources.getMethods(path).stream().filter(m -> m.getMethod() == httpMethod).findAny()
+                .orElseThrow(() -> new AssertionError("No " + httpMethod + " method of " + path));
+        assertEquals(new HashSet<>(Arrays.asList(statuses)), method.getResponses().keySet());
+    }
+
+}
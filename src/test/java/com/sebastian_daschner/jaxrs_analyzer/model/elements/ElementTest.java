@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.model.elements;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
+import com.sebastian_daschner.jaxrs_analyzer.model.types.Types;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+public class ElementTest {
+
+    @Test
+    public void testMerge() {
+        final Element element = new Element(Types.STRING);
+        final Element merged = element.merge(new Element(Types.OBJECT, "value"));
+
+        assertSame(element, merged);
+        assertEquals(new HashSet<>(Arrays.asList(Types.STRING, Types.OBJECT)), element.getTypes());
+        assertEquals(Collections.singleton("value"), element.getPossibleValues());
+    }
+
+    @Test
+    public void testMergeUnchanged() {
+        final Element element = new Element(Types.STRING, "value");
+        element.merge(new Element(Types.STRING));
+        element.merge(new Element(Types.STRING, "value"));
+
+        assertEquals(new Element(Types.STRING, "value"), element);
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        final Element element = new Element(Types.STRING, "value");
+        final Element copy = new Element(element);
+        assertEquals(element, copy);
+
+        copy.merge(new Element(Types.OBJECT, "other"));
+        element.addPossibleValue("third");
+
+        assertEquals(new Element(Types.STRING, "value", "third"), element);
+        assertEquals(new Element(new HashSet<>(Arrays.asList(Types.STRING, Types.OBJECT)), "value", "other"), copy);
+    }
+
+    @Test
+    public void testCopyDoesNotShareOwnedSets() {
+        final Element element = new Element(Types.STRING, "value");
+        final Element copy = new Element(element);
+
+        element.addPossibleValue("other");
+
+        assertEquals(new Element(Types.STRING, "value"), copy);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiablePossibleValues() {
+        new Element(Types.STRING, "value").getPossibleValues().add("other");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiableTypes() {
+        new Element(Types.STRING).getTypes().add(Types.OBJECT);
+    }
+
+    @Test
+    public void testModifySingleType() {
+        final Element element = new Element(Types.STRING);
+        element.addType(Types.OBJECT);
+        element.addPossibleValue("value");
+
+        assertEquals(new Element(new HashSet<>(Arrays.asList(Types.STRING, Types.OBJECT)), "value"), element);
+    }
+
+    @Test
+    public void testWiden() {
+        final Element element = AnalysisContext.create(10, 100, 2).execute(() -> new Element(Types.STRING, "first")
+                .merge(new Element(Types.STRING, "second"))
+                .merge(new Element(Types.OBJECT, "third")));
+
+        assertTrue(element.isWidened());
+        assertTrue(element.getPossibleValues().isEmpty());
+        assertEquals(new HashSet<>(Arrays.asList(Types.STRING, Types.OBJECT)), element.getTypes());
+
+        element.merge(new Element(Types.STRING, "fourth"));
+        assertTrue(element.getPossibleValues().isEmpty());
+
+        final Element merged = new Element(Types.STRING, "value").merge(element);
+        assertTrue(merged.isWidened());
+        assertTrue(merged.getPossibleValues().isEmpty());
+        assertNotEquals(new Element(merged.getTypes()), merged);
+    }
+
+}
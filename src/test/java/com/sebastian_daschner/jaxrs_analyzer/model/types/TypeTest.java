@@ -1,10 +1,10 @@
 package com.sebastian_daschner.jaxrs_analyzer.model.types;
 
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisContext;
 import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.is;
-import static org.junit.Assert.assertThat;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 
 /**
  * @author Sebastian Daschner
@@ -47,7 +47,7 @@ public class TypeTest {
         assertThat(type.getCtClass().getName(), is("java.util.Map$Entry"));
         assertThat(type.toString(), is("java.util.Map$Entry"));
         assertThat(type.getTypeParameters().size(), is(0));
-        assertTrue(!type.isAssignableTo(Types.MAP));
+        assertFalse(type.isAssignableTo(Types.MAP));
     }
 
     @Test
@@ -60,7 +60,7 @@ public class TypeTest {
         assertThat(type.getTypeParameters().get(0).toString(), is("java.lang.String"));
         assertThat(type.getTypeParameters().get(1).getCtClass().getName(), is("java.lang.String"));
         assertThat(type.getTypeParameters().get(1).toString(), is("java.lang.String"));
-        assertTrue(!type.isAssignableTo(Types.MAP));
+        assertFalse(type.isAssignableTo(Types.MAP));
     }
 
     @Test
@@ -128,6 +128,38 @@ public class TypeTest {
         assertThat(type.getTypeParameters().size(), is(0));
     }
 
+    @Test
+    public void testCanonicalTypes() {
+        final AnalysisContext context = AnalysisContext.create();
+        context.execute(() -> {
+            final Type type = Type.of("java.util.Map<java.lang.String,java.util.List<java.lang.Integer>>");
+            assertSame(type, Type.of("java.util.Map<java.lang.String, java.util.List<java.lang.Integer>>"));
+            assertSame(type.getTypeParameters().get(0), Type.of("java.lang.String"));
+            assertSame(type.getTypeParameters().get(1).getTypeParameters().get(0), Type.of("java.lang.Integer"));
+            assertEquals(new Type("java.util.Map<java.lang.String, java.util.List<java.lang.Integer>>"), type);
+            return null;
+        });
+
+        // every analysis uses own types
+        assertNotSame(context.execute(() -> Type.of("java.lang.String")), AnalysisContext.create().execute(() -> Type.of("java.lang.String")));
+        assertEquals(context.execute(() -> Type.of("java.lang.String")), AnalysisContext.create().execute(() -> Type.of("java.lang.String")));
+    }
+
+    @Test
+    public void testDeepHierarchy() {
+        final Type type = new Type("java.util.concurrent.ConcurrentSkipListMap");
+        assertTrue(type.isAssignableTo(Types.MAP));
+        assertTrue(type.isAssignableTo(new Type("java.util.AbstractMap")));
+        assertTrue(type.isAssignableTo(new Type("java.util.concurrent.ConcurrentNavigableMap<java.lang.String,java.lang.String>")));
+        assertFalse(type.isAssignableTo(Types.COLLECTION));
+        assertFalse(type.isAssignableTo(Types.OBJECT));
+
+        final TypeHierarchy hierarchy = new TypeHierarchy();
+        assertTrue(hierarchy.isSubtype(type.getCtClass(), "java.util.SortedMap"));
+        assertTrue(hierarchy.getSupertypes(type.getCtClass()).contains("java.io.Serializable"));
+        assertSame(hierarchy.getSupertypes(type.getCtClass()), hierarchy.getSupertypes(type.getCtClass()));
+    }
+
     private interface ConfigurationManager {
         Configuration getConfiguration(String name);
 